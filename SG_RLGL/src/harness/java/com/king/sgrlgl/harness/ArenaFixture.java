@@ -0,0 +1,119 @@
+package com.king.sgrlgl.harness;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.Cuboid;
+import com.king.sgrlgl.game.GameState;
+import com.king.sgrlgl.game.LightState;
+import com.king.sgrlgl.game.TimerRange;
+import com.king.sgrlgl.managers.GameManager;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lays out arenas side by side in one world and fills them with players.
+ * Each arena is a strip along +Z with its finish line at the far end.
+ * 
+ * @author King
+ */
+public class ArenaFixture {
+
+    // Distance between arenas and length of each course, in blocks
+    public static final int SPACING = 512;
+    public static final int LENGTH = 200;
+
+    private final FakeServer server;
+    private final GameManager gameManager;
+    private final FakeWorld world;
+    private final List<Arena> arenas = new ArrayList<>();
+    private final List<List<FakePlayer>> players = new ArrayList<>();
+
+    public ArenaFixture(FakeServer server, Main plugin, String worldName) {
+        this.server = server;
+        this.gameManager = plugin.getGameManager();
+        this.world = server.world(worldName);
+    }
+
+    /**
+     * Create an arena with its players
+     * @param playerCount Players to add
+     * @return Created arena
+     */
+    public Arena addArena(int playerCount) {
+        int index = arenas.size();
+        double originX = index * (double) SPACING;
+        Arena arena = gameManager.createArena("arena-" + index, world.getName());
+
+        Location a = new Location(world.getWorld(), originX - 32, 60, LENGTH);
+        Location b = new Location(world.getWorld(), originX + 32, 70, LENGTH + 4);
+        arena.setFinishRegion(Cuboid.ofBlocks(a, b));
+
+        List<FakePlayer> joined = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            // Start line spread over rows of 32
+            Location spawn = new Location(world.getWorld(), originX - 31.5 + (i % 32) * 2, 64, (i / 32) * 2.0 + 0.5);
+            FakePlayer player = server.join("bot-" + index + "-" + i, spawn);
+            arena.addPlayer(player.getPlayer());
+            joined.add(player);
+        }
+
+        arenas.add(arena);
+        players.add(joined);
+        return arena;
+    }
+
+    /**
+     * Override the light timers of every arena
+     * @param green Green light range
+     * @param red Red light range
+     */
+    public void setTimers(TimerRange green, TimerRange red) {
+        for (Arena arena : arenas) {
+            ArenaDefinition definition = arena.getDefinition()
+                    .withTimer(LightState.GREEN, green)
+                    .withTimer(LightState.RED, red);
+            gameManager.updateDefinition(definition);
+        }
+    }
+
+    /**
+     * Start every arena with a seed derived from its index and run the
+     * server until all of them are past the countdown
+     * @param seed Base seed
+     */
+    public void startAll(long seed) {
+        for (int i = 0; i < arenas.size(); i++) {
+            arenas.get(i).startGame(seed + i);
+        }
+        runUntil(() -> arenas.stream().allMatch(arena -> arena.getState() != GameState.STARTING), 20 * 60);
+    }
+
+    /**
+     * Run the server until every active arena shows a light
+     * @param light Light to wait for
+     */
+    public void awaitLight(LightState light) {
+        runUntil(() -> arenas.stream().allMatch(arena -> arena.getState() != GameState.ACTIVE
+                || arena.getLightState() == light), 20 * 60 * 10);
+    }
+
+    private void runUntil(BooleanSupplier done, int maxTicks) {
+        for (int i = 0; i < maxTicks && !done.getAsBoolean(); i++) {
+            server.tick();
+        }
+        if (!done.getAsBoolean()) {
+            throw new IllegalStateException("Arenas did not reach the expected state in " + maxTicks + " ticks");
+        }
+    }
+
+    // Getters
+    public List<Arena> getArenas() { return arenas; }
+    public List<FakePlayer> getPlayers(int arena) { return players.get(arena); }
+    public List<List<FakePlayer>> getPlayers() { return players; }
+    public FakeWorld getWorld() { return world; }
+    public GameManager getGameManager() { return gameManager; }
+}
@@ -0,0 +1,65 @@
+package com.king.sgrlgl.harness;
+
+import com.king.sgrlgl.game.LightState;
+
+import java.util.SplittableRandom;
+
+/**
+ * How a simulated player reacts to the lights
+ * 
+ * @author King
+ */
+public enum BotBehaviour {
+    /** Walks on green, freezes on red */
+    OBEDIENT,
+    /** Walks on green, but sometimes turns its head or shuffles on red */
+    TWITCHY,
+    /** Sprints towards the finish and ignores the lights */
+    SPRINTING;
+
+    private static final double WALK = 0.216;
+    private static final double SPRINT = 0.281;
+    private static final double TWITCH_CHANCE = 0.01;
+
+    /**
+     * Decide this tick's movement
+     * @param light Light the bot sees
+     * @param random Random source of the bot
+     * @param bot Bot to move
+     * @return True if the bot moved, false if it stood still
+     */
+    boolean step(LightState light, SplittableRandom random, Movement bot) {
+        switch (this) {
+            case SPRINTING:
+                bot.set(0.0, SPRINT, 0.0f);
+                return true;
+            case TWITCHY:
+                if (light == LightState.RED) {
+                    if (random.nextDouble() >= TWITCH_CHANCE) return false;
+                    bot.set(random.nextDouble(-0.05, 0.05), 0.0, (float) random.nextDouble(-10.0, 10.0));
+                    return true;
+                }
+                bot.set(0.0, WALK, 0.0f);
+                return true;
+            default:
+                if (light == LightState.RED) return false;
+                bot.set(0.0, WALK, 0.0f);
+                return true;
+        }
+    }
+
+    /**
+     * Movement chosen by {@link #step}
+     */
+    static final class Movement {
+        double dx;
+        double dz;
+        float dyaw;
+
+        void set(double dx, double dz, float dyaw) {
+            this.dx = dx;
+            this.dz = dz;
+            this.dyaw = dyaw;
+        }
+    }
+}
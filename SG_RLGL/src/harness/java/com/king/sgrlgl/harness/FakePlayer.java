@@ -0,0 +1,185 @@
+package com.king.sgrlgl.harness;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+/**
+ * Player stand-in. Keeps a position and counts what the plugin sends, so
+ * benchmarks and simulations can check the plugin reached the player.
+ * 
+ * @author King
+ */
+public class FakePlayer {
+
+    private final FakeServer server;
+    private final UUID id;
+    private final String name;
+    private final Player player = Proxies.create(Player.class, this::handle);
+    private final Player.Spigot spigot = new CountingSpigot();
+
+    private Location location;
+    private boolean online = true;
+    private GameMode gameMode = GameMode.SURVIVAL;
+    private double health = 20.0;
+    private int ping;
+    private String kickMessage;
+
+    // Counters
+    private long chatMessages;
+    private long actionBars;
+    private long titles;
+    private long sounds;
+    private long teleports;
+
+    FakePlayer(FakeServer server, UUID id, String name, Location location) {
+        this.server = server;
+        this.id = id;
+        this.name = name;
+        this.location = location.clone();
+    }
+
+    private Object handle(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getUniqueId":
+                return id;
+            case "getName":
+            case "getDisplayName":
+                return name;
+            case "getLocation":
+                if (args != null && args.length == 1 && args[0] != null) {
+                    // Fills the given location like CraftBukkit does
+                    Location target = (Location) args[0];
+                    target.setWorld(location.getWorld());
+                    target.setX(location.getX());
+                    target.setY(location.getY());
+                    target.setZ(location.getZ());
+                    target.setYaw(location.getYaw());
+                    target.setPitch(location.getPitch());
+                    return target;
+                }
+                return location.clone();
+            case "getWorld":
+                return location.getWorld();
+            case "teleport":
+                if (!(args[0] instanceof Location)) return false;
+                location = ((Location) args[0]).clone();
+                teleports++;
+                return true;
+            case "isOnline":
+            case "isValid":
+                return online;
+            case "isDead":
+                return health <= 0;
+            case "kickPlayer":
+                kickMessage = (String) args[0];
+                server.quit(this);
+                return null;
+            case "getGameMode":
+                return gameMode;
+            case "setGameMode":
+                gameMode = (GameMode) args[0];
+                return null;
+            case "getHealth":
+                return health;
+            case "setHealth":
+                health = (double) args[0];
+                return null;
+            case "sendMessage":
+                chatMessages++;
+                return null;
+            case "sendTitle":
+                titles++;
+                return null;
+            case "playSound":
+                sounds++;
+                return null;
+            case "spigot":
+                return spigot;
+            case "getPing":
+                return ping;
+            case "getPlayer":
+                return online ? player : null;
+            case "getServer":
+                return server.getServer();
+            default:
+                return Proxies.DEFAULT;
+        }
+    }
+
+    /**
+     * Move the player and build the matching move event
+     * @param dx X distance
+     * @param dy Y distance
+     * @param dz Z distance
+     * @param dyaw Yaw change
+     * @return Event to pass to the listener
+     */
+    public PlayerMoveEvent move(double dx, double dy, double dz, float dyaw) {
+        Location from = location.clone();
+        Location to = from.clone().add(dx, dy, dz);
+        to.setYaw(from.getYaw() + dyaw);
+        location = to;
+        return new PlayerMoveEvent(player, from, to);
+    }
+
+    /**
+     * Apply the outcome of a move event, as the server would
+     * @param event Event returned by {@link #move}
+     */
+    public void complete(PlayerMoveEvent event) {
+        if (event.isCancelled()) {
+            location = event.getFrom().clone();
+        } else if (event.getTo() != null) {
+            location = event.getTo().clone();
+        }
+    }
+
+    void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    public void setPing(int ping) {
+        this.ping = ping;
+    }
+
+    public void setLocation(Location location) {
+        this.location = location.clone();
+    }
+
+    // Getters
+    public Player getPlayer() { return player; }
+    public UUID getUniqueId() { return id; }
+    public String getName() { return name; }
+    public Location getLocation() { return location.clone(); }
+    public boolean isOnline() { return online; }
+    public GameMode getGameMode() { return gameMode; }
+    public String getKickMessage() { return kickMessage; }
+    public long getChatMessages() { return chatMessages; }
+    public long getActionBars() { return actionBars; }
+    public long getTitles() { return titles; }
+    public long getSounds() { return sounds; }
+    public long getTeleports() { return teleports; }
+
+    private final class CountingSpigot extends Player.Spigot {
+        @Override
+        public void sendMessage(BaseComponent... components) {
+            chatMessages++;
+        }
+
+        @Override
+        public void sendMessage(ChatMessageType position, BaseComponent... components) {
+            if (position == ChatMessageType.ACTION_BAR) {
+                actionBars++;
+            } else {
+                chatMessages++;
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.king.sgrlgl.harness;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scheduler stand-in driven by the harness instead of a server clock. Each
+ * call to {@link #tick()} runs the synchronous tasks due in that tick, so
+ * any number of ticks can be simulated as fast as the plugin allows.
+ * 
+ * @author King
+ */
+public class FakeScheduler {
+
+    private final Logger logger;
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> scheduled = new ArrayList<>();
+    private final ExecutorService async = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "FakeScheduler-Async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final BukkitScheduler scheduler = Proxies.create(BukkitScheduler.class, this::handle);
+
+    private long currentTick;
+    private int nextId = 1;
+
+    public FakeScheduler(Logger logger) {
+        this.logger = logger;
+    }
+
+    private Object handle(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "runTask":
+                return schedule(args, 0L, -1L, false);
+            case "runTaskLater":
+                return schedule(args, (long) args[2], -1L, false);
+            case "runTaskTimer":
+                return schedule(args, (long) args[2], (long) args[3], false);
+            case "runTaskAsynchronously":
+                return schedule(args, 0L, -1L, true);
+            case "runTaskLaterAsynchronously":
+                return schedule(args, (long) args[2], -1L, true);
+            case "runTaskTimerAsynchronously":
+                return schedule(args, (long) args[2], (long) args[3], true);
+            case "cancelTasks":
+                cancelAll();
+                return null;
+            case "cancelTask":
+                for (Task task : tasks) {
+                    if (task.id == (int) args[0]) task.cancelled = true;
+                }
+                return null;
+            default:
+                return Proxies.DEFAULT;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object schedule(Object[] args, long delay, long period, boolean asynchronous) {
+        Plugin owner = (Plugin) args[0];
+        Task task = new Task(nextId++, owner, asynchronous);
+        Object body = args[1];
+        if (body instanceof Runnable) {
+            task.body = (Runnable) body;
+        } else {
+            Consumer<BukkitTask> consumer = (Consumer<BukkitTask>) body;
+            task.body = () -> consumer.accept(task.handle);
+        }
+        task.nextTick = currentTick + Math.max(1L, delay);
+        task.period = period == 0L ? 1L : period;
+        scheduled.add(task);
+
+        // The consumer overloads return nothing
+        return body instanceof Runnable ? task.handle : null;
+    }
+
+    /**
+     * Advance the clock by one tick and run the due tasks
+     */
+    public void tick() {
+        currentTick++;
+        tasks.addAll(scheduled);
+        scheduled.clear();
+
+        Iterator<Task> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            if (task.cancelled) {
+                iterator.remove();
+                continue;
+            }
+            if (task.nextTick > currentTick) continue;
+
+            if (task.asynchronous) {
+                async.execute(task.body);
+            } else {
+                try {
+                    task.body.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "Task " + task.id + " threw an exception", e);
+                }
+            }
+
+            if (task.period > 0 && !task.cancelled) {
+                task.nextTick = currentTick + task.period;
+            } else {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Cancel every task, used when the plugin is disabled
+     */
+    public void cancelAll() {
+        for (Task task : tasks) task.cancelled = true;
+        for (Task task : scheduled) task.cancelled = true;
+        tasks.clear();
+        scheduled.clear();
+    }
+
+    /**
+     * Get the number of tasks waiting to run
+     */
+    public int getPendingCount() {
+        return tasks.size() + scheduled.size();
+    }
+
+    public BukkitScheduler getScheduler() { return scheduler; }
+    public long getCurrentTick() { return currentTick; }
+
+    private static final class Task {
+        private final int id;
+        private final Plugin owner;
+        private final boolean asynchronous;
+        private final BukkitTask handle;
+        private Runnable body;
+        private long nextTick;
+        private long period;
+        private boolean cancelled;
+
+        private Task(int id, Plugin owner, boolean asynchronous) {
+            this.id = id;
+            this.owner = owner;
+            this.asynchronous = asynchronous;
+            this.handle = Proxies.create(BukkitTask.class, (method, args) -> {
+                switch (method.getName()) {
+                    case "cancel": cancelled = true; return null;
+                    case "isCancelled": return cancelled;
+                    case "getTaskId": return this.id;
+                    case "getOwner": return this.owner;
+                    case "isSync": return !this.asynchronous;
+                    default: return Proxies.DEFAULT;
+                }
+            });
+        }
+    }
+}
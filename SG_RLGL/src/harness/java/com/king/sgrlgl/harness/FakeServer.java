@@ -0,0 +1,289 @@
+package com.king.sgrlgl.harness;
+
+import com.king.sgrlgl.Main;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.boss.BossBar;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless server that runs the real plugin against Bukkit stand-ins. Bukkit
+ * only accepts one server per JVM, so the instance is shared and reset
+ * between runs.
+ * 
+ * @author King
+ */
+public final class FakeServer {
+
+    private static FakeServer instance;
+
+    private final Logger logger = Logger.getLogger("FakeServer");
+    private final FakeScheduler scheduler = new FakeScheduler(logger);
+    private final Map<String, FakeWorld> worlds = new LinkedHashMap<>();
+    private final Map<UUID, FakePlayer> players = new LinkedHashMap<>();
+    private final Server server = Proxies.create(Server.class, this::handle);
+    private final PluginManager pluginManager = Proxies.create(PluginManager.class, this::handlePluginManager);
+    private final ConsoleCommandSender console = Proxies.create(ConsoleCommandSender.class, this::handleConsole);
+
+    private Main plugin;
+    private PluginCommand command;
+    private long dispatchedCommands;
+
+    private FakeServer() {
+        // Plugin chatter would drown benchmark output, -Dharness.log=INFO shows it
+        Level level = Level.parse(System.getProperty("harness.log", "WARNING"));
+        ConsoleHandler handler = new ConsoleHandler();
+        handler.setLevel(level);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        logger.setLevel(level);
+    }
+
+    /**
+     * Get the shared server, registering it with Bukkit on first use
+     * @return Server instance
+     */
+    public static synchronized FakeServer get() {
+        if (instance == null) {
+            instance = new FakeServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    private Object handle(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return "FakeServer";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "1.21-R0.1-SNAPSHOT";
+            case "getLogger":
+                return logger;
+            case "getScheduler":
+                return scheduler.getScheduler();
+            case "getPluginManager":
+                return pluginManager;
+            case "getConsoleSender":
+                return console;
+            case "isPrimaryThread":
+                return true;
+            case "getOnlinePlayers":
+                return getOnlinePlayers();
+            case "getPlayer":
+            case "getPlayerExact":
+                return findPlayer(args[0]);
+            case "getWorld":
+                return findWorld(args[0]);
+            case "getWorlds":
+                List<org.bukkit.World> all = new ArrayList<>();
+                for (FakeWorld world : worlds.values()) all.add(world.getWorld());
+                return all;
+            case "createBossBar":
+                return Proxies.create(BossBar.class, (barMethod, barArgs) -> Proxies.DEFAULT);
+            case "getPluginCommand":
+                return command;
+            case "dispatchCommand":
+                dispatchedCommands++;
+                return true;
+            case "getMaxPlayers":
+                return Integer.MAX_VALUE;
+            default:
+                return Proxies.DEFAULT;
+        }
+    }
+
+    private Object handlePluginManager(Method method, Object[] args) {
+        if (method.getName().equals("getPlugin")) {
+            return plugin != null && plugin.getName().equals(args[0]) ? plugin : null;
+        }
+        if (method.getName().equals("isPluginEnabled")) {
+            return plugin != null;
+        }
+        return Proxies.DEFAULT;
+    }
+
+    private Object handleConsole(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName": return "CONSOLE";
+            case "isOp":
+            case "hasPermission": return true;
+            case "getServer": return server;
+            default: return Proxies.DEFAULT;
+        }
+    }
+
+    private Player findPlayer(Object key) {
+        if (key instanceof UUID) {
+            FakePlayer player = players.get(key);
+            return player != null && player.isOnline() ? player.getPlayer() : null;
+        }
+        for (FakePlayer player : players.values()) {
+            if (player.isOnline() && player.getName().equalsIgnoreCase((String) key)) return player.getPlayer();
+        }
+        return null;
+    }
+
+    private org.bukkit.World findWorld(Object key) {
+        for (FakeWorld world : worlds.values()) {
+            if (key.equals(world.getName()) || key.equals(world.getWorld().getUID())) return world.getWorld();
+        }
+        return null;
+    }
+
+    /**
+     * Enable a fresh plugin instance, disabling the previous one
+     * @param dataFolder Plugin data folder, config.yml is created there
+     * @return Enabled plugin
+     */
+    public Main enable(Path dataFolder) {
+        if (plugin != null) disable();
+
+        PluginDescriptionFile description;
+        try (InputStream in = Main.class.getResourceAsStream("/plugin.yml");
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            description = new PluginDescriptionFile(reader);
+        } catch (Exception e) {
+            throw new IllegalStateException("plugin.yml is not on the classpath", e);
+        }
+
+        File folder = dataFolder.toFile();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IllegalStateException("Could not create " + folder);
+        }
+
+        @SuppressWarnings("deprecation")
+        JavaPluginLoader loader = new JavaPluginLoader(server);
+        plugin = new Main(loader, description, folder, new File(folder, "SG_RLGL.jar"));
+        command = newCommand("rlgl", plugin);
+        plugin.onEnable();
+        return plugin;
+    }
+
+    private static PluginCommand newCommand(String name, Plugin owner) {
+        try {
+            Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(name, owner);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create command " + name, e);
+        }
+    }
+
+    /**
+     * Disable the plugin and forget all players and tasks
+     */
+    public void disable() {
+        if (plugin != null) {
+            plugin.onDisable();
+            plugin = null;
+            command = null;
+        }
+        scheduler.cancelAll();
+        for (FakePlayer player : players.values()) player.setOnline(false);
+        players.clear();
+    }
+
+    /**
+     * Get or create a world
+     * @param name World name
+     * @return World stand-in
+     */
+    public FakeWorld world(String name) {
+        return worlds.computeIfAbsent(name, FakeWorld::new);
+    }
+
+    /**
+     * Connect a new player
+     * @param name Player name
+     * @param location Spawn location
+     * @return Player stand-in
+     */
+    public FakePlayer join(String name, Location location) {
+        FakePlayer player = new FakePlayer(this, UUID.nameUUIDFromBytes(("Bot:" + name).getBytes(StandardCharsets.UTF_8)),
+                name, location);
+        players.put(player.getUniqueId(), player);
+        return player;
+    }
+
+    /**
+     * Disconnect a player
+     * @param player Player to remove
+     */
+    public void quit(FakePlayer player) {
+        player.setOnline(false);
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Run one server tick
+     */
+    public void tick() {
+        scheduler.tick();
+    }
+
+    /**
+     * Run several server ticks
+     * @param ticks Number of ticks
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            scheduler.tick();
+        }
+    }
+
+    private List<Player> getOnlinePlayers() {
+        List<Player> online = new ArrayList<>(players.size());
+        for (FakePlayer player : players.values()) {
+            online.add(player.getPlayer());
+        }
+        return online;
+    }
+
+    /**
+     * Delete a data folder left over by a previous run
+     * @param folder Folder to delete
+     */
+    public static void deleteRecursively(Path folder) throws IOException {
+        if (!Files.exists(folder)) return;
+        try (var paths = Files.walk(folder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    // Getters
+    public Server getServer() { return server; }
+    public Main getPlugin() { return plugin; }
+    public FakeScheduler getScheduler() { return scheduler; }
+    public Logger getLogger() { return logger; }
+    public long getDispatchedCommands() { return dispatchedCommands; }
+}
@@ -0,0 +1,83 @@
+package com.king.sgrlgl.harness;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * World stand-in. Chunks are always loaded; plugin tickets and lightning
+ * effects are only counted.
+ * 
+ * @author King
+ */
+public class FakeWorld {
+
+    private final String name;
+    private final UUID uid = UUID.randomUUID();
+    private final Set<Long> tickets = new HashSet<>();
+    private final World world = Proxies.create(World.class, this::handle);
+
+    private long lightningStrikes;
+
+    public FakeWorld(String name) {
+        this.name = name;
+    }
+
+    private Object handle(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return name;
+            case "getUID":
+                return uid;
+            case "addPluginChunkTicket":
+                return tickets.add(chunkKey((int) args[0], (int) args[1]));
+            case "removePluginChunkTicket":
+                return tickets.remove(chunkKey((int) args[0], (int) args[1]));
+            case "removePluginChunkTickets":
+                tickets.clear();
+                return null;
+            case "isChunkLoaded":
+                return true;
+            case "getChunkAt":
+                return args.length == 2 && args[0] instanceof Integer
+                        ? chunk((int) args[0], (int) args[1]) : Proxies.DEFAULT;
+            case "strikeLightningEffect":
+                lightningStrikes++;
+                return null;
+            case "getSpawnLocation":
+                return new Location(world, 0.5, 64, 0.5);
+            case "setGameRule":
+            case "setStorm":
+            case "setThundering":
+                return method.getReturnType() == boolean.class ? true : null;
+            default:
+                return Proxies.DEFAULT;
+        }
+    }
+
+    private Chunk chunk(int x, int z) {
+        return Proxies.create(Chunk.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getX": return x;
+                case "getZ": return z;
+                case "getWorld": return world;
+                case "isLoaded": return true;
+                default: return Proxies.DEFAULT;
+            }
+        });
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) ^ (z & 0xFFFFFFFFL);
+    }
+
+    public World getWorld() { return world; }
+    public String getName() { return name; }
+    public int getTicketCount() { return tickets.size(); }
+    public long getLightningStrikes() { return lightningStrikes; }
+}
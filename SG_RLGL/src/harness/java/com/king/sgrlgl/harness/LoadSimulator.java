@@ -0,0 +1,301 @@
+package com.king.sgrlgl.harness;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.GameState;
+import com.king.sgrlgl.listeners.MovementListener;
+import com.king.sgrlgl.managers.GameManager;
+import org.bukkit.Location;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the plugin headless with thousands of bots across many arenas, as
+ * fast as the plugin allows, and reports tick time percentiles, allocation
+ * and event throughput. Finished matches are restarted with the same bots
+ * so the load stays constant for the whole run.
+ * 
+ * Usage: {@code ./gradlew simulate -Psim="--arenas 20 --bots 100 --ticks 12000"}
+ * 
+ * @author King
+ */
+public class LoadSimulator {
+
+    // Server tick budget at 20 TPS
+    private static final double TICK_BUDGET_MILLIS = 50.0;
+
+    private final int arenaCount;
+    private final int botsPerArena;
+    private final int ticks;
+    private final int warmupTicks;
+    private final long seed;
+    private final Map<BotBehaviour, Integer> mix;
+    private final Path output;
+
+    private final FakeServer server = FakeServer.get();
+    private final List<Bot> bots = new ArrayList<>();
+    private final BotBehaviour.Movement movement = new BotBehaviour.Movement();
+    private ArenaFixture fixture;
+    private GameManager gameManager;
+    private MovementListener listener;
+
+    // Counters
+    private long moveEvents;
+    private long eliminations;
+    private long finishes;
+    private long matches;
+    private int round;
+
+    public LoadSimulator(Map<String, String> options) {
+        this.arenaCount = Integer.parseInt(options.getOrDefault("arenas", "10"));
+        this.botsPerArena = Integer.parseInt(options.getOrDefault("bots", "50"));
+        this.ticks = Integer.parseInt(options.getOrDefault("ticks", "6000"));
+        this.warmupTicks = Integer.parseInt(options.getOrDefault("warmup", "1200"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        this.mix = parseMix(options.getOrDefault("mix", "obedient=70,twitchy=20,sprinting=10"));
+        this.output = options.containsKey("out") ? Path.of(options.get("out")) : null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        new LoadSimulator(options).run();
+    }
+
+    private static Map<BotBehaviour, Integer> parseMix(String spec) {
+        Map<BotBehaviour, Integer> weights = new EnumMap<>(BotBehaviour.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(BotBehaviour.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Set up the arenas, warm up and run the measured ticks
+     */
+    public void run() throws IOException {
+        Path dataFolder = Files.createTempDirectory("sg-rlgl-sim");
+        try {
+            setup(dataFolder);
+
+            for (int i = 0; i < warmupTicks; i++) {
+                tick();
+            }
+            resetCounters();
+
+            TickStats stats = new TickStats(ticks);
+            com.sun.management.ThreadMXBean threads = allocationBean();
+            long allocatedBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : -1L;
+            long wallStart = System.nanoTime();
+            for (int i = 0; i < ticks; i++) {
+                long start = System.nanoTime();
+                tick();
+                stats.record(System.nanoTime() - start);
+            }
+            long wallNanos = System.nanoTime() - wallStart;
+            long allocated = threads != null ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : -1L;
+
+            report(stats, wallNanos, allocated);
+        } finally {
+            server.disable();
+            FakeServer.deleteRecursively(dataFolder);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private void setup(Path dataFolder) {
+        Main plugin = server.enable(dataFolder);
+        // Simulated ticks run faster than real time, a wall clock grace window would forgive nearly every move
+        plugin.getConfig().set("detection.reaction-allowance-ms", 0);
+        plugin.getConfig().set("detection.max-ping-compensation-ms", 0);
+        plugin.saveConfig();
+        plugin.getConfigManager().loadConfig();
+        gameManager = plugin.getGameManager();
+        listener = new MovementListener(gameManager);
+        fixture = new ArenaFixture(server, plugin, "world");
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        for (int a = 0; a < arenaCount; a++) {
+            fixture.addArena(botsPerArena);
+            for (FakePlayer player : fixture.getPlayers(a)) {
+                bots.add(new Bot(a, player, pickBehaviour(random.nextInt(totalWeight)), random.split()));
+            }
+        }
+
+        for (Arena arena : fixture.getArenas()) {
+            arena.startGame(seed + arena.getName().hashCode());
+        }
+    }
+
+    private BotBehaviour pickBehaviour(int roll) {
+        for (Map.Entry<BotBehaviour, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey();
+        }
+        return BotBehaviour.OBEDIENT;
+    }
+
+    /**
+     * One server tick: player movement packets first, then scheduled tasks
+     */
+    private void tick() {
+        List<Arena> arenas = fixture.getArenas();
+        for (Bot bot : bots) {
+            FakePlayer player = bot.player;
+            if (!player.isOnline()) continue;
+
+            Arena arena = arenas.get(bot.arena);
+            boolean playing = arena.isPlayerInArena(player.getUniqueId());
+            if (playing && arena.getState() == GameState.ACTIVE) {
+                if (bot.behaviour.step(arena.getLightState(), bot.random, movement)) {
+                    fire(player, movement.dx, movement.dz, movement.dyaw);
+                }
+            } else if (arena.isSpectator(player.getUniqueId()) && bot.random.nextInt(4) == 0) {
+                // Spectators drift around the course
+                fire(player, bot.random.nextDouble(-0.3, 0.3), bot.random.nextDouble(-0.3, 0.3), 0.0f);
+            }
+        }
+
+        server.tick();
+
+        for (Bot bot : bots) {
+            boolean playing = bot.player.isOnline() && arenas.get(bot.arena).isPlayerInArena(bot.player.getUniqueId());
+            if (bot.playing && !playing) {
+                if (gameManager.isWinner(bot.player.getUniqueId())) {
+                    finishes++;
+                } else {
+                    eliminations++;
+                }
+            }
+            bot.playing = playing;
+        }
+
+        for (int a = 0; a < arenas.size(); a++) {
+            if (arenas.get(a).getState() == GameState.WAITING) {
+                restart(a);
+            }
+        }
+    }
+
+    private void fire(FakePlayer player, double dx, double dz, float dyaw) {
+        PlayerMoveEvent event = player.move(dx, 0.0, dz, dyaw);
+        listener.onPlayerMove(event);
+        player.complete(event);
+        moveEvents++;
+    }
+
+    /**
+     * Put every bot of a finished arena back on the start line and start a new match
+     */
+    private void restart(int index) {
+        Arena arena = fixture.getArenas().get(index);
+        matches++;
+        round++;
+        for (Bot bot : bots) {
+            if (bot.arena != index) continue;
+
+            if (!bot.player.isOnline()) {
+                // Kicked bots reconnect
+                bot.player = server.join(bot.player.getName(), bot.spawn);
+            }
+            gameManager.removeWinner(bot.player.getUniqueId());
+            bot.player.setLocation(bot.spawn);
+            arena.addPlayer(bot.player.getPlayer());
+            bot.playing = true;
+        }
+        arena.startGame(seed + round);
+    }
+
+    private void resetCounters() {
+        moveEvents = 0;
+        eliminations = 0;
+        finishes = 0;
+        matches = 0;
+    }
+
+    private void report(TickStats stats, long wallNanos, long allocated) throws IOException {
+        double wallSeconds = wallNanos / 1_000_000_000.0;
+        double speed = ticks * TICK_BUDGET_MILLIS / 1000.0 / wallSeconds;
+        double eventsPerSecond = moveEvents / wallSeconds;
+
+        StringBuilder mixText = new StringBuilder();
+        for (Map.Entry<BotBehaviour, Integer> entry : mix.entrySet()) {
+            if (mixText.length() > 0) mixText.append(", ");
+            mixText.append(entry.getKey().name().toLowerCase(Locale.ROOT)).append(' ').append(entry.getValue());
+        }
+
+        System.out.println("=== SG_RLGL load simulation ===");
+        System.out.printf(Locale.ROOT, "Arenas: %d, bots per arena: %d (%s)%n", arenaCount, botsPerArena, mixText);
+        System.out.printf(Locale.ROOT, "Ticks: %d after %d warm-up, %.2f s wall, %.1fx real time%n",
+                ticks, warmupTicks, wallSeconds, speed);
+        System.out.printf(Locale.ROOT, "Tick time ms: mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f%n",
+                stats.meanMillis(), stats.percentileMillis(50), stats.percentileMillis(90),
+                stats.percentileMillis(99), stats.percentileMillis(99.9), stats.percentileMillis(100));
+        System.out.printf(Locale.ROOT, "Move events: %d (%.0f/s), eliminations: %d, finishes: %d, matches restarted: %d%n",
+                moveEvents, eventsPerSecond, eliminations, finishes, matches);
+        if (allocated >= 0) {
+            System.out.printf(Locale.ROOT, "Allocation (main thread): %.1f KiB/tick, %.1f MiB/s%n",
+                    allocated / 1024.0 / ticks, allocated / 1024.0 / 1024.0 / wallSeconds);
+        }
+
+        if (output != null) {
+            String json = String.format(Locale.ROOT,
+                    "{\"arenas\":%d,\"botsPerArena\":%d,\"ticks\":%d,\"wallSeconds\":%.3f,"
+                            + "\"tickMillis\":{\"mean\":%.4f,\"p50\":%.4f,\"p90\":%.4f,\"p99\":%.4f,\"p999\":%.4f,\"max\":%.4f},"
+                            + "\"moveEvents\":%d,\"eventsPerSecond\":%.1f,\"eliminations\":%d,\"finishes\":%d,"
+                            + "\"matches\":%d,\"allocatedBytesPerTick\":%.1f}%n",
+                    arenaCount, botsPerArena, ticks, wallSeconds,
+                    stats.meanMillis(), stats.percentileMillis(50), stats.percentileMillis(90),
+                    stats.percentileMillis(99), stats.percentileMillis(99.9), stats.percentileMillis(100),
+                    moveEvents, eventsPerSecond, eliminations, finishes, matches,
+                    allocated >= 0 ? allocated / (double) ticks : -1.0);
+            if (output.getParent() != null) Files.createDirectories(output.getParent());
+            Files.writeString(output, json, StandardCharsets.UTF_8);
+            System.out.println("Results written to " + output);
+        }
+    }
+
+    private static final class Bot {
+        private final int arena;
+        private final BotBehaviour behaviour;
+        private final SplittableRandom random;
+        private final Location spawn;
+        private FakePlayer player;
+        private boolean playing = true;
+
+        private Bot(int arena, FakePlayer player, BotBehaviour behaviour, SplittableRandom random) {
+            this.arena = arena;
+            this.player = player;
+            this.behaviour = behaviour;
+            this.random = random;
+            this.spawn = player.getLocation();
+        }
+    }
+}
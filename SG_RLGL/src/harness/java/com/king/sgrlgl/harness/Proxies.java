@@ -0,0 +1,81 @@
+package com.king.sgrlgl.harness;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds dynamic proxies of Bukkit interfaces. Handlers only implement the
+ * methods the plugin actually calls; everything else returns an empty
+ * default, so the stand-ins stay small as the API grows.
+ * 
+ * @author King
+ */
+public final class Proxies {
+
+    /**
+     * Returned by a handler for methods it does not implement
+     */
+    public static final Object DEFAULT = new Object();
+
+    private Proxies() {
+    }
+
+    /**
+     * Method implementation of a proxy
+     */
+    @FunctionalInterface
+    public interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Create a proxy of an interface
+     * @param type Interface to implement
+     * @param handler Handler for the interface methods
+     * @return Proxy instance
+     */
+    public static <T> T create(Class<T> type, Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    default: return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+
+            Object result = handler.handle(method, args == null ? new Object[0] : args);
+            if (result != DEFAULT) return result;
+            if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+            return defaultValue(method.getReturnType());
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocation));
+    }
+
+    /**
+     * Get the empty value of a return type
+     * @param type Method return type
+     * @return Zero, false, an empty collection or null
+     */
+    public static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == Optional.class) return Optional.empty();
+        return null;
+    }
+}
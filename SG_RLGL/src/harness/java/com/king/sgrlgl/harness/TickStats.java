@@ -0,0 +1,58 @@
+package com.king.sgrlgl.harness;
+
+import java.util.Arrays;
+
+/**
+ * Recorded tick durations with percentile lookup
+ * 
+ * @author King
+ */
+public class TickStats {
+
+    private final long[] nanos;
+    private int count;
+    private long[] sorted;
+
+    public TickStats(int capacity) {
+        this.nanos = new long[capacity];
+    }
+
+    /**
+     * Record the duration of one tick
+     * @param duration Tick time in nanoseconds
+     */
+    public void record(long duration) {
+        if (count < nanos.length) {
+            nanos[count++] = duration;
+            sorted = null;
+        }
+    }
+
+    /**
+     * Get a percentile of the recorded ticks
+     * @param percentile Percentile between 0 and 100
+     * @return Tick time in milliseconds
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) return 0.0;
+        if (sorted == null) {
+            sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+    }
+
+    /**
+     * Get the mean tick time
+     * @return Milliseconds
+     */
+    public double meanMillis() {
+        if (count == 0) return 0.0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += nanos[i];
+        return total / (double) count / 1_000_000.0;
+    }
+
+    public int getCount() { return count; }
+}
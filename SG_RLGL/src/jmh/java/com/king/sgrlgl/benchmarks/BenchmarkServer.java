@@ -0,0 +1,41 @@
+package com.king.sgrlgl.benchmarks;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.harness.FakeServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Starts and stops the plugin on the shared headless server for one
+ * benchmark trial, in a throwaway data folder.
+ * 
+ * @author King
+ */
+final class BenchmarkServer {
+
+    private static Path dataFolder;
+
+    private BenchmarkServer() {
+    }
+
+    static Main start(String name) {
+        try {
+            dataFolder = Files.createTempDirectory("sg-rlgl-" + name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return FakeServer.get().enable(dataFolder);
+    }
+
+    static void stop() {
+        FakeServer.get().disable();
+        try {
+            FakeServer.deleteRecursively(dataFolder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
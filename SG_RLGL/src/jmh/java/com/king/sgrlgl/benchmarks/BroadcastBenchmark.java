@@ -0,0 +1,61 @@
+package com.king.sgrlgl.benchmarks;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.harness.ArenaFixture;
+import com.king.sgrlgl.harness.FakeServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one chat broadcast to every player of an arena. The broadcast
+ * method is private, so it is reached through a method handle.
+ * 
+ * @author King
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int players;
+
+    private MethodHandle broadcast;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        Main plugin = BenchmarkServer.start("broadcast");
+        ArenaFixture fixture = new ArenaFixture(FakeServer.get(), plugin, "world");
+        Arena arena = fixture.addArena(players);
+
+        Method method = Arena.class.getDeclaredMethod("broadcastToPlayers", String.class);
+        method.setAccessible(true);
+        broadcast = MethodHandles.lookup().unreflect(method).bindTo(arena);
+        message = plugin.getConfigManager().getArenaMessage("game-start", arena.getName());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public void broadcastToPlayers() throws Throwable {
+        broadcast.invokeExact(message);
+    }
+}
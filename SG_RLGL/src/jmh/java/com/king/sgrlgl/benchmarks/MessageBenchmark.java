@@ -0,0 +1,67 @@
+package com.king.sgrlgl.benchmarks;
+
+import com.king.sgrlgl.managers.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ConfigManager#getMessage} for constant and templated
+ * messages, and of the per-arena message cache as arenas grow.
+ * 
+ * @author King
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int arenas;
+
+    private ConfigManager configManager;
+    private String[] arenaNames;
+    private String[] playerNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        configManager = BenchmarkServer.start("messages").getConfigManager();
+        arenaNames = new String[arenas];
+        playerNames = new String[arenas];
+        for (int i = 0; i < arenas; i++) {
+            arenaNames[i] = "arena-" + i;
+            playerNames[i] = "bot-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public String constant() {
+        return configManager.getMessage("red-light");
+    }
+
+    @Benchmark
+    public String placeholders() {
+        int i = next++ % arenas;
+        return configManager.getMessage("eliminated", "player", playerNames[i], "arena", arenaNames[i]);
+    }
+
+    @Benchmark
+    public String arenaMessage() {
+        return configManager.getArenaMessage("game-start", arenaNames[next++ % arenas]);
+    }
+}
@@ -0,0 +1,110 @@
+package com.king.sgrlgl.benchmarks;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.LightState;
+import com.king.sgrlgl.game.TimerRange;
+import com.king.sgrlgl.harness.ArenaFixture;
+import com.king.sgrlgl.harness.FakePlayer;
+import com.king.sgrlgl.harness.FakeServer;
+import com.king.sgrlgl.listeners.MovementListener;
+import org.bukkit.Location;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link MovementListener#onPlayerMove} per event. Participants walk
+ * forward during green light and stand still during red light; outsiders
+ * are online players that are not in any arena.
+ * 
+ * @author King
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovementBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int arenas;
+
+    @Param({"10", "100"})
+    public int playersPerArena;
+
+    @Param({"GREEN", "RED"})
+    public LightState light;
+
+    private MovementListener listener;
+    private PlayerMoveEvent[] participantMoves;
+    private PlayerMoveEvent[] outsiderMoves;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Main plugin = BenchmarkServer.start("movement");
+        FakeServer server = FakeServer.get();
+        ArenaFixture fixture = new ArenaFixture(server, plugin, "world");
+        for (int i = 0; i < arenas; i++) {
+            fixture.addArena(playersPerArena);
+        }
+
+        // Hold the measured light for the whole trial
+        TimerRange hold = new TimerRange(3600, 3600);
+        TimerRange skip = new TimerRange(1, 1);
+        if (light == LightState.GREEN) {
+            fixture.setTimers(hold, skip);
+        } else {
+            fixture.setTimers(skip, hold);
+        }
+        fixture.startAll(42L);
+        fixture.awaitLight(light);
+
+        double step = light == LightState.GREEN ? 0.2 : 0.0;
+        List<PlayerMoveEvent> moves = new ArrayList<>();
+        for (List<FakePlayer> players : fixture.getPlayers()) {
+            for (FakePlayer player : players) {
+                moves.add(player.move(0.0, 0.0, step, 0.0f));
+            }
+        }
+        participantMoves = moves.toArray(new PlayerMoveEvent[0]);
+
+        List<PlayerMoveEvent> outsiders = new ArrayList<>();
+        Location lobby = new Location(fixture.getWorld().getWorld(), -1000.5, 64, 0.5);
+        for (int i = 0; i < playersPerArena; i++) {
+            outsiders.add(server.join("outsider-" + i, lobby).move(0.2, 0.0, 0.0, 0.0f));
+        }
+        outsiderMoves = outsiders.toArray(new PlayerMoveEvent[0]);
+
+        listener = new MovementListener(plugin.getGameManager());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public PlayerMoveEvent participant() {
+        PlayerMoveEvent event = participantMoves[next++ % participantMoves.length];
+        listener.onPlayerMove(event);
+        return event;
+    }
+
+    @Benchmark
+    public PlayerMoveEvent outsider() {
+        PlayerMoveEvent event = outsiderMoves[next++ % outsiderMoves.length];
+        listener.onPlayerMove(event);
+        return event;
+    }
+}
@@ -0,0 +1,72 @@
+package com.king.sgrlgl.benchmarks;
+
+import com.king.sgrlgl.managers.GameManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link GameManager#isImmune} for players with and without a role,
+ * as the admin, guest and winner lists grow.
+ * 
+ * @author King
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleBenchmark {
+
+    // Total roles, split evenly between admins, guests and winners
+    @Param({"30", "3000", "300000"})
+    public int roles;
+
+    private GameManager gameManager;
+    private UUID[] members;
+    private UUID[] strangers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        gameManager = BenchmarkServer.start("roles").getGameManager();
+        SplittableRandom random = new SplittableRandom(42L);
+        members = new UUID[roles];
+        strangers = new UUID[1024];
+        for (int i = 0; i < roles; i++) {
+            members[i] = new UUID(random.nextLong(), random.nextLong());
+            switch (i % 3) {
+                case 0: gameManager.addAdmin(members[i]); break;
+                case 1: gameManager.addGuest(members[i]); break;
+                default: gameManager.addWinner(members[i]); break;
+            }
+        }
+        for (int i = 0; i < strangers.length; i++) {
+            strangers[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public boolean member() {
+        return gameManager.isImmune(members[next++ % members.length]);
+    }
+
+    @Benchmark
+    public boolean stranger() {
+        return gameManager.isImmune(strangers[next++ & (strangers.length - 1)]);
+    }
+}
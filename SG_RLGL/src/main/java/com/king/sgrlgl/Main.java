@@ -1,11 +1,17 @@
 package com.king.sgrlgl;
 
 import com.king.sgrlgl.commands.RLGLCommand;
+import com.king.sgrlgl.listeners.ConnectionListener;
 import com.king.sgrlgl.listeners.InteractListener;
 import com.king.sgrlgl.listeners.MovementListener;
 import com.king.sgrlgl.managers.ConfigManager;
 import com.king.sgrlgl.managers.GameManager;
+import com.king.sgrlgl.scheduler.PluginScheduler;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
 
 /**
  * Main plugin class for SG_RLGL (Squid Game Red Light Green Light)
@@ -16,12 +22,30 @@ import org.bukkit.plugin.java.JavaPlugin;
 public final class Main extends JavaPlugin {
 
     private static Main instance;
+    private PluginScheduler pluginScheduler;
     private ConfigManager configManager;
     private GameManager gameManager;
 
+    public Main() {
+        super();
+    }
+
+    /**
+     * Create the plugin outside a running server, for the benchmark and
+     * simulation harness. Bukkit refuses this constructor when the plugin
+     * is loaded by the server itself.
+     */
+    public Main(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
     @Override
     public void onEnable() {
         instance = this;
+        this.pluginScheduler = PluginScheduler.create(this);
+        if (pluginScheduler.isRegionThreaded()) {
+            getLogger().info("Region threaded server detected, arenas tick on their own regions");
+        }
         
         // Initialize managers
         this.configManager = new ConfigManager(this);
@@ -35,6 +59,7 @@ public final class Main extends JavaPlugin {
         // Register event listeners
         getServer().getPluginManager().registerEvents(new MovementListener(gameManager), this);
         getServer().getPluginManager().registerEvents(new InteractListener(gameManager), this);
+        getServer().getPluginManager().registerEvents(new ConnectionListener(gameManager), this);
 
         getLogger().info("SG_RLGL has been enabled successfully!");
     }
@@ -42,8 +67,8 @@ public final class Main extends JavaPlugin {
     @Override
     public void onDisable() {
         if (gameManager != null) {
-            gameManager.stopAllGames();
-            gameManager.saveAll();
+            gameManager.stopAllGamesNow();
+            gameManager.shutdown();
         }
         getLogger().info("SG_RLGL has been disabled.");
     }
@@ -56,6 +81,14 @@ public final class Main extends JavaPlugin {
         return instance;
     }
 
+    /**
+     * Get the scheduler matching the running server
+     * @return PluginScheduler instance
+     */
+    public PluginScheduler getPluginScheduler() {
+        return pluginScheduler;
+    }
+
     /**
      * Get the config manager
      * @return ConfigManager instance
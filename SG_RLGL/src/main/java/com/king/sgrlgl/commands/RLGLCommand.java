@@ -2,10 +2,20 @@ package com.king.sgrlgl.commands;
 
 import com.king.sgrlgl.Main;
 import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.ArenaTicker;
+import com.king.sgrlgl.game.Cuboid;
 import com.king.sgrlgl.game.GameState;
+import com.king.sgrlgl.game.LightState;
+import com.king.sgrlgl.game.MovementMode;
+import com.king.sgrlgl.game.MovementPolicy;
+import com.king.sgrlgl.game.TimerRange;
 import com.king.sgrlgl.listeners.InteractListener;
 import com.king.sgrlgl.managers.ConfigManager;
 import com.king.sgrlgl.managers.GameManager;
+import com.king.sgrlgl.managers.StoredLocation;
+import com.king.sgrlgl.metrics.LatencyHistogram;
+import com.king.sgrlgl.metrics.PluginMetrics;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -61,6 +71,8 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
                 return handleTeleport(sender, args);
             case "arena":
                 return handleArena(sender, args);
+            case "stats":
+                return handleStats(sender);
             default:
                 return showHelp(sender);
         }
@@ -71,13 +83,13 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
      */
     private boolean showHelp(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== SG_RLGL Commands ===");
-        sender.sendMessage(ChatColor.YELLOW + "/rlgl start [arena] " + ChatColor.GRAY + "- Start a game");
+        sender.sendMessage(ChatColor.YELLOW + "/rlgl start [arena] [seed] " + ChatColor.GRAY + "- Start a game");
         sender.sendMessage(ChatColor.YELLOW + "/rlgl stop [arena] " + ChatColor.GRAY + "- Stop a game");
         sender.sendMessage(ChatColor.YELLOW + "/rlgl reload " + ChatColor.GRAY + "- Reload configuration");
-        sender.sendMessage(ChatColor.YELLOW + "/rlgl set <lobby|guestlobby|finish|admin|guest> [player] " + ChatColor.GRAY + "- Set locations/roles");
+        sender.sendMessage(ChatColor.YELLOW + "/rlgl set <lobby|guestlobby|finish|admin|guest> [player|arena] " + ChatColor.GRAY + "- Set locations/roles");
         sender.sendMessage(ChatColor.YELLOW + "/rlgl remove <admin|guest|winner> <player> " + ChatColor.GRAY + "- Remove roles");
         sender.sendMessage(ChatColor.YELLOW + "/rlgl tp <guest|admin|player> <guestlobby|gamelobby> " + ChatColor.GRAY + "- Teleport players");
-        sender.sendMessage(ChatColor.YELLOW + "/rlgl arena <create|delete|list> [name] " + ChatColor.GRAY + "- Manage arenas");
+        sender.sendMessage(ChatColor.YELLOW + "/rlgl arena <create|delete|list|setlobby|setcorner|timers|movement> [name] " + ChatColor.GRAY + "- Manage arenas");
         return true;
     }
 
@@ -91,7 +103,11 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
         Arena arena = gameManager.getArena(arenaName);
         
         if (arena == null) {
-            arena = gameManager.createArena(arenaName);
+            if (!ArenaDefinition.isValidName(arenaName)) {
+                sender.sendMessage(configManager.getMessage("invalid-arena-name", "arena", arenaName));
+                return true;
+            }
+            arena = gameManager.createArena(arenaName, sender instanceof Player ? ((Player) sender).getWorld().getName() : null);
         }
         
         if (arena.getState() != GameState.WAITING) {
@@ -99,7 +115,28 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         
-        arena.startGame();
+        // Regions tick the arena at its bounds, anywhere else players would run on other threads
+        if (plugin.getPluginScheduler().isRegionThreaded() && arena.getBounds() == null) {
+            sender.sendMessage(configManager.getMessage("arena-needs-bounds", "arena", arena.getName()));
+            return true;
+        }
+        
+        // The match starts on the thread that ticks the arena
+        Arena target = arena;
+        
+        // An explicit seed replays the phase timings of an earlier match
+        if (args.length > 2) {
+            long seed;
+            try {
+                seed = Long.parseLong(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Invalid seed: " + args[2]);
+                return true;
+            }
+            gameManager.getTicker().execute(target, () -> target.startGame(seed));
+        } else {
+            gameManager.getTicker().execute(target, target::startGame);
+        }
         sender.sendMessage(configManager.getMessage("game-started", "arena", arenaName));
         
         // Give admin dyes to admins
@@ -126,7 +163,7 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         
-        arena.stopGame();
+        gameManager.getTicker().execute(arena, arena::stopGame);
         sender.sendMessage(configManager.getMessage("game-stopped", "arena", arenaName));
         
         // Remove admin dyes
@@ -145,6 +182,8 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
     private boolean handleReload(CommandSender sender) {
         if (!hasPermission(sender)) return true;
         
+        // Make sure pending data is on disk before re-reading it
+        gameManager.flushAll();
         configManager.loadConfig();
         gameManager.loadAll();
         sender.sendMessage(configManager.getMessage("config-reloaded"));
@@ -187,6 +226,17 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
                     sender.sendMessage(ChatColor.RED + "Only players can set locations.");
                     return true;
                 }
+                if (args.length > 2) {
+                    // Per-arena finish region
+                    Arena finishArena = gameManager.getArena(args[2]);
+                    if (finishArena == null) {
+                        sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+                        return true;
+                    }
+                    InteractListener.giveFinishHoe((Player) sender, finishArena.getName());
+                    sender.sendMessage(configManager.getMessage("arena-finish-hoe-given", "arena", finishArena.getName()));
+                    return true;
+                }
                 InteractListener.giveFinishHoe((Player) sender);
                 sender.sendMessage(configManager.getMessage("finish-hoe-given"));
                 return true;
@@ -289,38 +339,99 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        int count = 0;
+        List<Player> targets = new ArrayList<>();
+        String doneMessage;
         switch (who) {
             case "guest":
                 for (Player player : Bukkit.getOnlinePlayers()) {
                     if (gameManager.isGuest(player.getUniqueId())) {
-                        player.teleport(targetLocation);
-                        count++;
+                        targets.add(player);
                     }
                 }
-                sender.sendMessage(configManager.getMessage("guests-teleported", "count", String.valueOf(count)));
-                return true;
+                doneMessage = "guests-teleported";
+                break;
             case "admin":
                 for (Player player : Bukkit.getOnlinePlayers()) {
                     if (gameManager.isAdmin(player.getUniqueId())) {
-                        player.teleport(targetLocation);
-                        count++;
+                        targets.add(player);
                     }
                 }
-                sender.sendMessage(configManager.getMessage("admins-teleported", "count", String.valueOf(count)));
-                return true;
+                doneMessage = "admins-teleported";
+                break;
             case "player":
                 if (!(sender instanceof Player)) {
                     sender.sendMessage(ChatColor.RED + "Only players can teleport themselves.");
                     return true;
                 }
-                ((Player) sender).teleport(targetLocation);
-                sender.sendMessage(configManager.getMessage("teleported"));
-                return true;
+                targets.add((Player) sender);
+                doneMessage = "teleported";
+                break;
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown target: " + who);
                 return true;
         }
+
+        if (targets.size() > 1) {
+            sender.sendMessage(configManager.getMessage("teleport-queued", "count", String.valueOf(targets.size())));
+        }
+        gameManager.getTeleports().teleport(targets, targetLocation, result -> {
+            // The sender may have left while the batch was running
+            if (sender instanceof Player && !((Player) sender).isOnline()) return;
+            sender.sendMessage(configManager.getMessage(doneMessage, "count", String.valueOf(result.succeeded())));
+            if (result.failed() > 0) {
+                sender.sendMessage(configManager.getMessage("teleport-failed", "count", String.valueOf(result.failed())));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Handle stats command
+     */
+    private boolean handleStats(CommandSender sender) {
+        if (!hasPermission(sender)) return true;
+
+        PluginMetrics metrics = gameManager.getMetrics();
+        sender.sendMessage(ChatColor.GOLD + "=== SG_RLGL Stats ===");
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(ChatColor.GRAY + "Timing is disabled (metrics.enabled: false)");
+        }
+        sendLatency(sender, "Move events", metrics.getMoveHandling());
+        sendLatency(sender, "Light effects", metrics.getEffectUpdates());
+        sendLatency(sender, "Eliminations", metrics.getEliminations());
+        sendLatency(sender, "Elimination batches", metrics.getEliminationBatches());
+        sendLatency(sender, "Red light sweeps", metrics.getSweeps());
+        sendLatency(sender, "Finishes", metrics.getFinishes());
+        sendLatency(sender, "Save requests", metrics.getSaveRequests());
+        sendLatency(sender, "Disk writes", metrics.getDiskWrites());
+        sender.sendMessage(ChatColor.YELLOW + "Matches: " + ChatColor.WHITE + metrics.getMatches().get()
+                + ChatColor.YELLOW + ", phase switches: " + ChatColor.WHITE + metrics.getPhaseSwitches().get());
+        sender.sendMessage(ChatColor.YELLOW + "Queues: " + ChatColor.WHITE
+                + gameManager.getRewards().getQueueDepth() + " rewards, "
+                + gameManager.getTeleports().getQueuedPlayers() + " teleports, "
+                + gameManager.getPersistence().getPendingWrites() + " pending writes, "
+                + gameManager.getChunkTickets().size() + " chunks held");
+        sender.sendMessage(ChatColor.YELLOW + "Storage: " + ChatColor.WHITE
+                + gameManager.getPersistence().getStorage().describe());
+        return true;
+    }
+
+    private static void sendLatency(CommandSender sender, String label, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0) {
+            sender.sendMessage(ChatColor.YELLOW + label + ": " + ChatColor.GRAY + "none");
+            return;
+        }
+        sender.sendMessage(ChatColor.YELLOW + label + ": " + ChatColor.WHITE + count
+                + ChatColor.GRAY + " (p50 " + formatNanos(histogram.valueAtQuantile(0.5))
+                + ", p99 " + formatNanos(histogram.valueAtQuantile(0.99))
+                + ", max " + formatNanos(histogram.getMax()) + ")");
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + " ns";
+        if (nanos < 1_000_000L) return String.format("%.1f \u00b5s", nanos / 1_000.0);
+        return String.format("%.2f ms", nanos / 1_000_000.0);
     }
 
     /**
@@ -329,7 +440,7 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
     private boolean handleArena(CommandSender sender, String[] args) {
         if (!hasPermission(sender)) return true;
         if (args.length < 2) {
-            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena <create|delete|list> [name]");
+            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena <create|delete|list|setlobby|setcorner|timers|movement> [name]");
             return true;
         }
 
@@ -342,24 +453,82 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
                 String createName = args[2];
-                if (gameManager.getArena(createName) != null) {
+                if (!ArenaDefinition.isValidName(createName)) {
+                    sender.sendMessage(configManager.getMessage("invalid-arena-name", "arena", createName));
+                    return true;
+                }
+                if (gameManager.isArenaDefined(createName)) {
                     sender.sendMessage(configManager.getMessage("arena-already-exists", "arena", createName));
                     return true;
                 }
-                gameManager.createArena(createName);
+                gameManager.createArena(createName, sender instanceof Player ? ((Player) sender).getWorld().getName() : null);
                 sender.sendMessage(configManager.getMessage("arena-created", "arena", createName));
                 return true;
                 
+            case "delete":
+                if (args.length < 3) {
+                    sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena delete <name>");
+                    return true;
+                }
+                if (!gameManager.deleteArena(args[2])) {
+                    sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+                    return true;
+                }
+                sender.sendMessage(configManager.getMessage("arena-deleted", "arena", args[2]));
+                return true;
+                
+            case "setlobby":
+                if (args.length < 3) {
+                    sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena setlobby <name>");
+                    return true;
+                }
+                if (!(sender instanceof Player)) {
+                    sender.sendMessage(ChatColor.RED + "Only players can set locations.");
+                    return true;
+                }
+                Arena lobbyArena = gameManager.getArena(args[2]);
+                if (lobbyArena == null) {
+                    sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+                    return true;
+                }
+                StoredLocation lobby = StoredLocation.of(((Player) sender).getLocation());
+                gameManager.editDefinition(lobbyArena, current -> current.withLobby(lobby));
+                sender.sendMessage(configManager.getMessage("arena-lobby-set", "arena", lobbyArena.getName()));
+                return true;
+                
+            case "setcorner":
+                return handleArenaCorner(sender, args);
+                
+            case "timers":
+                return handleArenaTimers(sender, args);
+                
+            case "movement":
+                return handleArenaMovement(sender, args);
+                
             case "list":
-                Collection<Arena> arenas = gameManager.getArenas();
-                if (arenas.isEmpty()) {
+                Collection<ArenaDefinition> definitions = gameManager.getArenaDefinitions();
+                if (definitions.isEmpty()) {
                     sender.sendMessage(configManager.getMessage("no-arenas"));
                     return true;
                 }
                 sender.sendMessage(ChatColor.GOLD + "Arenas:");
-                for (Arena arena : arenas) {
+                for (ArenaDefinition definition : definitions) {
+                    // Only describe arenas that have been instantiated
+                    Arena arena = gameManager.getLoadedArena(definition.name());
+                    if (arena == null) {
+                        sender.sendMessage(ChatColor.YELLOW + "- " + definition.name() + 
+                                ChatColor.GRAY + " (not loaded)");
+                        continue;
+                    }
+                    ArenaTicker.Timing timing = gameManager.getTicker().getTiming(arena);
+                    String tickInfo = timing == null || timing.getCount() == 0 ? "" :
+                            String.format(", %.3f ms/tick avg, %.3f ms max",
+                                    timing.getAverageNanos() / 1_000_000.0, timing.getMaxNanos() / 1_000_000.0);
+                    if (arena.getLoadedChunkCount() > 0) {
+                        tickInfo += ", " + arena.getLoadedChunkCount() + " chunks held";
+                    }
                     sender.sendMessage(ChatColor.YELLOW + "- " + arena.getName() + 
-                            ChatColor.GRAY + " (" + arena.getState() + ")");
+                            ChatColor.GRAY + " (" + arena.getState() + tickInfo + ")");
                 }
                 return true;
                 
@@ -369,6 +538,148 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Handle arena setcorner command
+     */
+    private boolean handleArenaCorner(CommandSender sender, String[] args) {
+        if (args.length < 4 || !(args[3].equals("1") || args[3].equals("2"))) {
+            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena setcorner <name> <1|2>");
+            return true;
+        }
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatColor.RED + "Only players can set locations.");
+            return true;
+        }
+        Arena arena = gameManager.getArena(args[2]);
+        if (arena == null) {
+            sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+            return true;
+        }
+
+        Player player = (Player) sender;
+        org.bukkit.Location corner = player.getLocation();
+        if (args[3].equals("1")) {
+            gameManager.getSelections().setBoundsCorner(player.getUniqueId(), corner);
+            sender.sendMessage(configManager.getMessage("arena-corner-set",
+                    "arena", arena.getName(),
+                    "x", String.valueOf(corner.getBlockX()),
+                    "y", String.valueOf(corner.getBlockY()),
+                    "z", String.valueOf(corner.getBlockZ())));
+            return true;
+        }
+
+        org.bukkit.Location first = gameManager.getSelections().takeBoundsCorner(player.getUniqueId());
+        if (first == null || first.getWorld() != corner.getWorld()) {
+            sender.sendMessage(ChatColor.RED + "Set corner 1 in the same world first.");
+            return true;
+        }
+
+        Cuboid bounds = Cuboid.ofBlocks(first, corner);
+        arena.setBounds(bounds);
+        int chunks = (bounds.maxChunkX() - bounds.minChunkX() + 1) * (bounds.maxChunkZ() - bounds.minChunkZ() + 1);
+        sender.sendMessage(configManager.getMessage("arena-bounds-set",
+                "arena", arena.getName(), "count", String.valueOf(chunks)));
+        return true;
+    }
+
+    /**
+     * Handle arena timers command
+     */
+    private boolean handleArenaTimers(CommandSender sender, String[] args) {
+        if (args.length < 4) {
+            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena timers <name> <red|green> <min> <max|reset>");
+            return true;
+        }
+        Arena arena = gameManager.getArena(args[2]);
+        if (arena == null) {
+            sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+            return true;
+        }
+
+        LightState light;
+        switch (args[3].toLowerCase()) {
+            case "red":
+                light = LightState.RED;
+                break;
+            case "green":
+                light = LightState.GREEN;
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Unknown light: " + args[3]);
+                return true;
+        }
+
+        TimerRange range = null;
+        if (args.length >= 6) {
+            try {
+                range = new TimerRange(Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Timer values must be whole seconds.");
+                return true;
+            }
+        } else if (args.length != 5 || !args[4].equalsIgnoreCase("reset")) {
+            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena timers <name> <red|green> <min> <max|reset>");
+            return true;
+        }
+
+        // Applied on the arena's thread, the reply reports the resulting timer
+        TimerRange timer = range;
+        gameManager.editDefinition(arena, current -> current.withTimer(light, timer), () -> {
+            TimerRange effective = arena.getTimer(light);
+            sender.sendMessage(configManager.getMessage("arena-timers-set",
+                    "arena", arena.getName(),
+                    "light", light.name().toLowerCase(),
+                    "min", String.valueOf(effective.min()),
+                    "max", String.valueOf(effective.max())));
+        });
+        return true;
+    }
+
+    /**
+     * Handle arena movement command
+     */
+    private boolean handleArenaMovement(CommandSender sender, String[] args) {
+        if (args.length < 4) {
+            sender.sendMessage(ChatColor.RED + "Usage: /rlgl arena movement <name> <any|position|epsilon|block|reset> [epsilon]");
+            return true;
+        }
+        Arena arena = gameManager.getArena(args[2]);
+        if (arena == null) {
+            sender.sendMessage(configManager.getMessage("arena-not-found", "arena", args[2]));
+            return true;
+        }
+
+        MovementPolicy policy = null;
+        if (!args[3].equalsIgnoreCase("reset")) {
+            MovementMode mode = MovementMode.fromName(args[3]);
+            if (mode == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown movement mode: " + args[3]);
+                return true;
+            }
+            double epsilon = configManager.getSettings().movementPolicy().epsilon();
+            if (args.length >= 5) {
+                try {
+                    epsilon = Double.parseDouble(args[4]);
+                } catch (NumberFormatException e) {
+                    sender.sendMessage(ChatColor.RED + "The epsilon must be a distance in blocks.");
+                    return true;
+                }
+            }
+            policy = new MovementPolicy(mode, epsilon);
+        }
+
+        MovementPolicy chosen = policy;
+        gameManager.editDefinition(arena, current -> current.withMovement(chosen), () -> {
+            MovementPolicy effective = arena.getMovementPolicy();
+            String mode = effective.mode() == MovementMode.EPSILON
+                    ? "EPSILON (" + effective.epsilon() + ")"
+                    : effective.mode().name();
+            sender.sendMessage(configManager.getMessage("arena-movement-set",
+                    "arena", arena.getName(), "mode", mode));
+        });
+        return true;
+    }
+
     /**
      * Check if sender has permission
      */
@@ -383,7 +694,7 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("help", "start", "stop", "reload", "set", "remove", "tp", "arena")
+            return Arrays.asList("help", "start", "stop", "reload", "set", "remove", "tp", "arena", "stats")
                     .stream()
                     .filter(s -> s.startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -398,12 +709,10 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
                 case "tp":
                     return Arrays.asList("guest", "admin", "player");
                 case "arena":
-                    return Arrays.asList("create", "delete", "list");
+                    return Arrays.asList("create", "delete", "list", "setlobby", "setcorner", "timers", "movement");
                 case "start":
                 case "stop":
-                    return gameManager.getArenas().stream()
-                            .map(Arena::getName)
-                            .collect(Collectors.toList());
+                    return arenaNames();
             }
         }
         
@@ -415,12 +724,39 @@ public class RLGLCommand implements CommandExecutor, TabCompleter {
                     if (args[1].equalsIgnoreCase("admin") || args[1].equalsIgnoreCase("guest")) {
                         return null; // Show online players
                     }
+                    if (args[1].equalsIgnoreCase("finish")) {
+                        return arenaNames();
+                    }
+                    break;
+                case "arena":
+                    if (!args[1].equalsIgnoreCase("create") && !args[1].equalsIgnoreCase("list")) {
+                        return arenaNames();
+                    }
                     break;
                 case "remove":
                     return null; // Show all players
             }
         }
         
+        if (args.length == 4 && args[0].equalsIgnoreCase("arena") && args[1].equalsIgnoreCase("timers")) {
+            return Arrays.asList("red", "green");
+        }
+        if (args.length == 4 && args[0].equalsIgnoreCase("arena") && args[1].equalsIgnoreCase("setcorner")) {
+            return Arrays.asList("1", "2");
+        }
+        if (args.length == 4 && args[0].equalsIgnoreCase("arena") && args[1].equalsIgnoreCase("movement")) {
+            return Arrays.asList("any", "position", "epsilon", "block", "reset");
+        }
+        
         return Collections.emptyList();
     }
+
+    /**
+     * Get the names of all defined arenas
+     */
+    private List<String> arenaNames() {
+        return gameManager.getArenaDefinitions().stream()
+                .map(ArenaDefinition::name)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,16 +1,19 @@
 package com.king.sgrlgl.game;
 
+import com.king.sgrlgl.journal.ArenaJournal;
 import com.king.sgrlgl.managers.ConfigManager;
 import com.king.sgrlgl.managers.GameManager;
+import com.king.sgrlgl.managers.RlglSettings;
+import com.king.sgrlgl.metrics.PluginMetrics;
+import com.king.sgrlgl.scheduler.PluginScheduler;
 import org.bukkit.*;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a game arena for Red Light Green Light
@@ -20,45 +23,160 @@ import java.util.*;
 public class Arena {
 
     private final String name;
+    private final String key;
     private final GameManager gameManager;
     private final ConfigManager configManager;
+    private final PluginMetrics metrics;
+    // Read by move events, which may run on other region threads
+    private volatile ArenaDefinition definition;
     
+    // Owned by the thread ticking the arena, other threads read the snapshot
     private GameState state;
     private LightState lightState;
     private final Set<UUID> players;
     private final Set<UUID> spectators;
+    private volatile ArenaSnapshot snapshot = ArenaSnapshot.IDLE;
+    // Immutable copies of the member sets, only rebuilt when membership changed
+    private Set<UUID> playerView = Set.of();
+    private Set<UUID> spectatorView = Set.of();
+    private boolean membersChanged;
+    private final ArenaAudience audience;
     private BossBar bossBar;
-    private BukkitTask gameTask;
     private int timeRemaining;
+    // Runtime override of the config.yml effect toggles, null to follow the config
+    private EffectToggles effectOverride;
+    private long eliminationCount;
+    private long finishCount;
 
-    public Arena(String name, GameManager gameManager, ConfigManager configManager) {
-        this.name = name;
+    // Match timing, all ticks come from the shared ArenaTicker clock
+    private long seed;
+    private SplittableRandom random;
+    private long matchStartTick;
+    // Outcome of the running match, recorded when it ends
+    private long matchStartMillis;
+    private int matchPlayers;
+    private long matchEliminationBase;
+    private final List<UUID> matchWinners = new ArrayList<>();
+    private final ArenaJournal journal;
+    private long phaseEndTick;
+    private int phaseDurationTicks;
+    private long phaseStartMillis;
+    private long phaseStartNanos;
+    private long remainingTicks;
+    private final List<PhaseSwitch> timeline = new ArrayList<>();
+
+    // Eliminations of the current tick and their deferred kicks
+    private final List<Player> pendingEliminations = new ArrayList<>();
+    private final Deque<Runnable> pendingActions = new ArrayDeque<>();
+
+    // Positions held during Red Light in SWEEP detection mode
+    private final RedLightSweep sweep = new RedLightSweep();
+    // Movement tolerance compiled from the definition and config.yml
+    private volatile MovementCheck movementCheck;
+
+    // Chunks kept loaded around matches
+    private final ArenaChunks chunks;
+    private long countdownEndTick;
+    private long warmDeadlineTick;
+
+    public Arena(ArenaDefinition definition, GameManager gameManager, ConfigManager configManager) {
+        this.name = definition.name();
+        this.key = definition.key();
+        this.definition = definition;
         this.gameManager = gameManager;
         this.configManager = configManager;
+        this.metrics = gameManager.getMetrics();
         this.state = GameState.WAITING;
         this.lightState = LightState.GREEN;
         this.players = new HashSet<>();
         this.spectators = new HashSet<>();
-        
-        if (configManager.isBossBarEnabled()) {
-            this.bossBar = Bukkit.createBossBar("Red Light Green Light", BarColor.GREEN, BarStyle.SOLID);
+        this.audience = new ArenaAudience();
+        this.chunks = new ArenaChunks(gameManager.getPlugin(), gameManager.getChunkTickets());
+        this.journal = new ArenaJournal(gameManager.getPlugin().getDataFolder().toPath().resolve("journal").resolve(key),
+                key, () -> configManager.getSettings().journal(), gameManager.getPlugin().getLogger());
+        compileMovement();
+    }
+
+    /**
+     * Create the boss bar the first time a game starts
+     */
+    private void ensureBossBar() {
+        if (bossBar == null && getEffects().bossBar()) {
+            bossBar = Bukkit.createBossBar("Red Light Green Light", BarColor.GREEN, BarStyle.SOLID);
+        }
+    }
+
+    /**
+     * Release resources held by an arena that is being deleted, after its
+     * members were removed
+     */
+    public void dispose() {
+        chunks.release();
+        journal.close();
+        if (bossBar != null) {
+            bossBar.removeAll();
+            bossBar = null;
         }
     }
 
     /**
-     * Start the game
+     * Start the game with a fresh random seed
      */
     public void startGame() {
+        startGame(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Start the game with a given seed after the pre-start countdown.
+     * Replaying a seed reproduces the exact sequence of phase durations
+     * of the original match.
+     * @param seed Seed for the phase duration rolls
+     */
+    public void startGame(long seed) {
         if (state != GameState.WAITING) return;
         
+        state = GameState.STARTING;
+        this.seed = seed;
+        timeRemaining = configManager.getSettings().countdownSeconds();
+        publish();
+        
+        // Broadcast start message
+        broadcastToPlayers(configManager.getArenaMessage("game-start", name));
+        
+        // Load the course during the countdown so the first green light doesn't pay for it
+        RlglSettings settings = configManager.getSettings();
+        long now = gameManager.getTicker().getCurrentTick(this);
+        chunks.warm(definition, getLobby(), getAnchor());
+        // Request the first chunks right away, the region ticking the arena among them
+        chunks.pump(settings.chunkLoadsPerTick());
+        countdownEndTick = now + (long) settings.countdownSeconds() * TimerRange.TICKS_PER_SECOND;
+        warmDeadlineTick = countdownEndTick + (long) settings.chunkWaitSeconds() * TimerRange.TICKS_PER_SECOND;
+        gameManager.getTicker().schedule(this, 1L);
+    }
+
+    /**
+     * Begin the match once the countdown is over
+     * @param now Current ticker tick
+     */
+    private void beginMatch(long now) {
         state = GameState.ACTIVE;
+        metrics.getMatches().inc();
         lightState = LightState.GREEN;
+        ensureBossBar();
         
-        // Broadcast start message
-        broadcastToPlayers(configManager.getMessage("game-start", "arena", name));
+        this.random = new SplittableRandom(seed);
+        this.matchStartTick = now;
+        timeline.clear();
+        matchStartMillis = System.currentTimeMillis();
+        matchPlayers = players.size();
+        matchEliminationBase = eliminationCount;
+        matchWinners.clear();
+        journal.matchStart(seed, matchPlayers);
+        gameManager.getPlugin().getLogger().info("Arena " + name + " started with seed " + seed
+                + " (" + chunks.getHeldCount() + " chunks loaded)");
         
         // Start game loop
-        startGameLoop();
+        startPhase(matchStartTick);
         
         // Play sound and update displays
         updateEffects();
@@ -70,78 +188,198 @@ public class Arena {
     public void stopGame() {
         if (state == GameState.WAITING) return;
         
+        // A match stopped during the countdown has no result
+        boolean played = state == GameState.ACTIVE;
         state = GameState.WAITING;
+        timeRemaining = 0;
         
-        if (gameTask != null) {
-            gameTask.cancel();
-            gameTask = null;
+        // Finish any queued eliminations right away
+        if (!pendingEliminations.isEmpty()) {
+            processEliminations();
+        }
+        while (!pendingActions.isEmpty()) {
+            pendingActions.poll().run();
         }
         
+        gameManager.getTicker().cancel(this);
+        sweep.clear();
+        gameManager.getPlugin().getLogger().info("Arena " + name + " timeline (seed " + seed + "): " + timeline);
+        if (played) {
+            journal.matchEnd(timeline.size(), (int) (eliminationCount - matchEliminationBase), matchWinners.size());
+            gameManager.recordMatch(new MatchResult(key, seed, matchStartMillis, System.currentTimeMillis(),
+                    timeline.size(), matchPlayers, (int) (eliminationCount - matchEliminationBase), matchWinners));
+        }
+        chunks.scheduleRelease((long) configManager.getSettings().keepWarmSeconds() * TimerRange.TICKS_PER_SECOND,
+                getAnchor());
+        
         if (bossBar != null) {
             bossBar.removeAll();
         }
         
         // Clear spectators and reset players
+        for (UUID spectatorId : spectators) {
+            unbindSession(spectatorId);
+        }
         spectators.clear();
+        audience.clearSpectators();
+        membersChanged = true;
+        publish();
         
-        broadcastToPlayers(configManager.getMessage("game-stopped", "arena", name));
+        broadcastToPlayers(configManager.getArenaMessage("game-stopped", name));
     }
 
     /**
-     * Start the game loop with random timers
+     * Roll the duration of the current light phase
+     * @param now Current ticker tick
      */
-    private void startGameLoop() {
-        if (gameTask != null) {
-            gameTask.cancel();
+    private void startPhase(long now) {
+        TimerRange range = getTimer(lightState);
+        
+        phaseDurationTicks = range.rollTicks(random);
+        phaseEndTick = now + phaseDurationTicks;
+        phaseStartMillis = System.currentTimeMillis();
+        phaseStartNanos = System.nanoTime();
+        timeline.add(new PhaseSwitch(now - matchStartTick, lightState, phaseDurationTicks));
+        journal.phase(lightState == LightState.RED, phaseDurationTicks, now - matchStartTick);
+        updateRemaining(now);
+        publish();
+    }
+
+    /**
+     * Publish a new snapshot for readers on other threads. The member
+     * sets are only copied when players joined or left since the last one.
+     */
+    private void publish() {
+        if (membersChanged) {
+            playerView = Set.copyOf(players);
+            spectatorView = Set.copyOf(spectators);
+            membersChanged = false;
         }
+        snapshot = new ArenaSnapshot(state, lightState, timeRemaining, phaseStartMillis, phaseStartNanos,
+                phaseDurationTicks, seed, playerView, spectatorView);
+    }
+
+    /**
+     * Get the timer range of a light phase, preferring the arena override
+     * @param light Light phase
+     * @return Timer range
+     */
+    public TimerRange getTimer(LightState light) {
+        TimerRange override = light == LightState.GREEN ? definition.greenLight() : definition.redLight();
+        if (override != null) return override;
         
-        // Determine next phase duration
-        Random random = new Random();
-        if (lightState == LightState.GREEN) {
-            int min = configManager.getMinGreenLightDuration();
-            int max = configManager.getMaxGreenLightDuration();
-            timeRemaining = min + random.nextInt(max - min + 1);
+        RlglSettings settings = configManager.getSettings();
+        return light == LightState.GREEN ? settings.greenLight() : settings.redLight();
+    }
+
+    private void updateRemaining(long now) {
+        remainingTicks = Math.max(0L, phaseEndTick - now);
+        timeRemaining = (int) ((remainingTicks + TimerRange.TICKS_PER_SECOND - 1) / TimerRange.TICKS_PER_SECOND);
+    }
+
+    /**
+     * Get the delay until the next whole second of the countdown, which
+     * always lands exactly on the phase end
+     */
+    private long nextTickDelay() {
+        long partial = remainingTicks % TimerRange.TICKS_PER_SECOND;
+        return partial == 0 ? TimerRange.TICKS_PER_SECOND : partial;
+    }
+
+    /**
+     * Advance the countdown, called by the shared {@link ArenaTicker}
+     * @param now Current ticker tick
+     * @return Ticks until the next call, 0 to stop ticking
+     */
+    long tick(long now) {
+        if (state == GameState.STARTING) return tickCountdown(now);
+        if (state != GameState.ACTIVE) return 0L;
+        
+        if (now >= phaseEndTick) {
+            // Switch phase
+            lightState = (lightState == LightState.GREEN) ? LightState.RED : LightState.GREEN;
+            metrics.getPhaseSwitches().inc();
+            startPhase(now);
+            updateEffects();
+            if (lightState == LightState.RED) {
+                startSweep();
+            } else {
+                sweep.clear();
+            }
         } else {
-            int min = configManager.getMinRedLightDuration();
-            int max = configManager.getMaxRedLightDuration();
-            timeRemaining = min + random.nextInt(max - min + 1);
-        }
-        
-        gameTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                timeRemaining--;
-                updateBossBar();
-                
-                if (timeRemaining <= 0) {
-                    // Switch phase
-                    lightState = (lightState == LightState.GREEN) ? LightState.RED : LightState.GREEN;
-                    updateEffects();
-                    startGameLoop(); // Start next phase
-                }
+            updateRemaining(now);
+            updateBossBar();
+            publish();
+        }
+        return nextTickDelay();
+    }
+
+    /**
+     * Record the positions players must hold, if red light is detected by
+     * sweeping. The sweep runs with the arena's per-tick flush.
+     */
+    private void startSweep() {
+        if (configManager.getSettings().detectionMode() != DetectionMode.SWEEP) return;
+        
+        List<Player> candidates = new ArrayList<>(players.size());
+        for (Player player : audience.getPlayers()) {
+            PlayerSession session = gameManager.getSession(player.getUniqueId());
+            if (session != null && !session.isImmune()) {
+                candidates.add(player);
+            }
+        }
+        sweep.capture(candidates, phaseStartNanos, configManager.getSettings());
+        gameManager.getTicker().requestFlush(this);
+    }
+
+    /**
+     * Load chunks and announce the countdown, every tick until the match begins
+     * @param now Current ticker tick
+     * @return Ticks until the next call
+     */
+    private long tickCountdown(long now) {
+        chunks.pump(configManager.getSettings().chunkLoadsPerTick());
+        
+        if (now < countdownEndTick) {
+            long left = countdownEndTick - now;
+            if (left % TimerRange.TICKS_PER_SECOND == 0) {
+                timeRemaining = (int) (left / TimerRange.TICKS_PER_SECOND);
+                publish();
+                broadcastToPlayers(configManager.getMessage("game-countdown",
+                        "arena", name, "time", String.valueOf(left / TimerRange.TICKS_PER_SECOND)));
             }
-        }.runTaskTimer(gameManager.getPlugin(), 0L, 20L); // Run every second
+            return 1L;
+        }
+        
+        // Give slow chunk loads a little extra time, then start regardless
+        if (!chunks.isReady() && now < warmDeadlineTick) return 1L;
+        
+        beginMatch(now);
+        return nextTickDelay();
     }
 
     /**
      * Update visual and audio effects
      */
     private void updateEffects() {
+        long start = metrics.start();
+        RlglSettings settings = configManager.getSettings();
+        EffectToggles effects = getEffects();
         String message;
         String actionBarMessage;
         BarColor barColor;
-        String soundName;
+        Sound sound;
         
         if (lightState == LightState.GREEN) {
-            message = configManager.getMessage("green-light", "arena", name);
-            actionBarMessage = configManager.getMessage("green-light-action", "arena", name);
+            message = configManager.getArenaMessage("green-light", name);
+            actionBarMessage = configManager.getArenaMessage("green-light-action", name);
             barColor = BarColor.GREEN;
-            soundName = configManager.getGreenLightSound();
+            sound = settings.greenLightSound();
         } else {
-            message = configManager.getMessage("red-light", "arena", name);
-            actionBarMessage = configManager.getMessage("red-light-action", "arena", name);
+            message = configManager.getArenaMessage("red-light", name);
+            actionBarMessage = configManager.getArenaMessage("red-light-action", name);
             barColor = BarColor.RED;
-            soundName = configManager.getRedLightSound();
+            sound = settings.redLightSound();
         }
         
         // Update boss bar
@@ -151,38 +389,28 @@ public class Arena {
             updateBossBar();
         }
         
-        // Send messages and effects to players
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null && player.isOnline()) {
-                // Title
-                player.sendTitle(message, "", 5, 40, 5);
-                
-                // Action bar
-                if (configManager.isActionBarEnabled()) {
-                    player.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
-                            net.md_5.bungee.api.chat.TextComponent.fromLegacyText(actionBarMessage));
-                }
-                
-                // Sound
-                if (configManager.areSoundsEnabled()) {
-                    try {
-                        Sound sound = Sound.valueOf(soundName);
-                        player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
-                    } catch (IllegalArgumentException e) {
-                        // Invalid sound name, ignore
-                    }
-                }
-                
-                // Add to boss bar
-                if (bossBar != null) {
-                    bossBar.addPlayer(player);
-                }
+        // Send messages and effects to players, each payload is prepared once
+        audience.sendTitle(message, "", 5, 40, 5);
+        
+        if (effects.actionBar()) {
+            audience.sendActionBar(actionBarMessage);
+        }
+        
+        // Sound (null if the configured name is invalid)
+        if (effects.sounds() && sound != null) {
+            audience.playSound(sound);
+        }
+        
+        // Add to boss bar
+        if (bossBar != null) {
+            for (Player player : audience.getPlayers()) {
+                bossBar.addPlayer(player);
             }
         }
         
         // Broadcast to chat
         broadcastToPlayers(message);
+        metrics.getEffectUpdates().recordSince(start);
     }
 
     /**
@@ -191,60 +419,158 @@ public class Arena {
     private void updateBossBar() {
         if (bossBar == null) return;
         
-        int totalTime;
-        if (lightState == LightState.GREEN) {
-            int min = configManager.getMinGreenLightDuration();
-            int max = configManager.getMaxGreenLightDuration();
-            totalTime = (min + max) / 2; // Use average for progress calculation
-        } else {
-            int min = configManager.getMinRedLightDuration();
-            int max = configManager.getMaxRedLightDuration();
-            totalTime = (min + max) / 2;
-        }
-        
-        double progress = Math.max(0.0, Math.min(1.0, (double) timeRemaining / totalTime));
+        double progress = Math.max(0.0, Math.min(1.0, (double) remainingTicks / phaseDurationTicks));
         bossBar.setProgress(progress);
     }
 
     /**
-     * Eliminate a player
+     * Eliminate a player caught moving during red light and journal the move
+     * @param player Player to eliminate
+     * @param from Position the player held
+     * @param to Position the player moved to
+     */
+    public void eliminateMover(Player player, Location from, Location to) {
+        eliminateMover(player, from.getX(), from.getY(), from.getZ(), from.getYaw(), from.getPitch(), to);
+    }
+
+    private void eliminateMover(Player player, double x, double y, double z, float yaw, float pitch, Location to) {
+        if (!players.contains(player.getUniqueId())) return;
+
+        journal.elimination(player.getUniqueId(), x, y, z, yaw, pitch,
+                to.getX(), to.getY(), to.getZ(), to.getYaw(), to.getPitch(),
+                player.getPing(), System.nanoTime() - phaseStartNanos);
+        eliminatePlayer(player);
+    }
+
+    /**
+     * Eliminate a player. The player leaves the game immediately, while the
+     * effects are batched with every other elimination of the same tick.
      * @param player Player to eliminate
      */
     public void eliminatePlayer(Player player) {
         UUID playerId = player.getUniqueId();
-        players.remove(playerId);
+        if (!players.remove(playerId)) return;
+        long start = metrics.start();
+        audience.remove(playerId);
         
-        String method = configManager.getEliminationMethod();
-        String eliminationMessage = configManager.getMessage("eliminated", 
-                "player", player.getName(), "arena", name);
+        // Kicked players never become spectators
+        RlglSettings settings = configManager.getSettings();
+        if (settings.spectatorMode() && settings.eliminationMethod() != EliminationMethod.KICK) {
+            spectators.add(playerId);
+            audience.addSpectator(player);
+            bindSession(playerId, true);
+        } else {
+            unbindSession(playerId);
+        }
         
-        switch (method) {
-            case "KILL":
-                player.setHealth(0);
-                break;
-            case "KICK":
-                player.kickPlayer(eliminationMessage);
-                return; // Don't add to spectators if kicked
-            case "TELEPORT":
-                Location lobby = gameManager.getLobby();
-                if (lobby != null) {
-                    player.teleport(lobby);
-                }
-                break;
+        pendingEliminations.add(player);
+        eliminationCount++;
+        // Published with the batch, so a mass elimination copies the sets once
+        membersChanged = true;
+        gameManager.getTicker().requestFlush(this);
+        metrics.getEliminations().recordSince(start);
+    }
+
+    /**
+     * Process queued eliminations and spread out their follow-up actions,
+     * called once per tick by the {@link ArenaTicker}
+     * @return True if work remains for the next tick
+     */
+    boolean flushPending() {
+        if (sweep.isActive()) {
+            long start = metrics.start();
+            sweep.sweep(movementCheck, this::eliminateMover);
+            metrics.getSweeps().recordSince(start);
+        }
+        if (!pendingEliminations.isEmpty()) {
+            processEliminations();
+        }
+        if (membersChanged) {
+            publish();
         }
         
-        // Add to spectators if spectator mode is enabled
-        if (configManager.isSpectatorModeEnabled() && !method.equals("KICK")) {
-            spectators.add(playerId);
-            player.setGameMode(GameMode.SPECTATOR);
-            player.sendMessage(configManager.getMessage("spectator-mode", "arena", name));
+        int budget = configManager.getSettings().eliminationActionsPerTick();
+        Runnable action;
+        while (budget-- > 0 && (action = pendingActions.poll()) != null) {
+            action.run();
+        }
+        return !pendingActions.isEmpty() || sweep.isActive();
+    }
+
+    /**
+     * Apply all eliminations queued during the last tick as one batch
+     */
+    private void processEliminations() {
+        long start = metrics.start();
+        RlglSettings settings = configManager.getSettings();
+        EliminationMethod method = settings.eliminationMethod();
+        Location lobby = method == EliminationMethod.TELEPORT ? getLobby() : null;
+        String spectatorMessage = configManager.getArenaMessage("spectator-mode", name);
+        
+        List<Player> batch = new ArrayList<>(pendingEliminations);
+        pendingEliminations.clear();
+        
+        StringJoiner names = new StringJoiner(", ");
+        List<Player> teleporting = new ArrayList<>();
+        PluginScheduler scheduler = gameManager.getPlugin().getPluginScheduler();
+        int lightning = 0;
+        for (Player player : batch) {
+            names.add(player.getName());
+            
+            // Visual-only lightning, capped per batch
+            boolean strike = lightning < settings.lightningPerBatch();
+            if (strike) {
+                lightning++;
+            }
+            
+            if (method == EliminationMethod.KICK) {
+                String kickMessage = configManager.getMessage("eliminated",
+                        "player", player.getName(), "arena", name);
+                pendingActions.add(() -> scheduler.executeFor(player, () -> {
+                    if (player.isOnline()) player.kickPlayer(kickMessage);
+                }, null));
+                if (strike) {
+                    scheduler.executeFor(player, () -> strikeLightning(player), null);
+                }
+                continue; // Don't add to spectators if kicked
+            }
+            if (method == EliminationMethod.TELEPORT && lobby != null) {
+                teleporting.add(player);
+            }
+            
+            // Player state belongs to the thread that owns the player
+            scheduler.executeFor(player, () -> {
+                if (strike) {
+                    strikeLightning(player);
+                }
+                if (method == EliminationMethod.KILL) {
+                    player.setHealth(0);
+                }
+                if (settings.spectatorMode()) {
+                    player.setGameMode(GameMode.SPECTATOR);
+                    player.sendMessage(spectatorMessage);
+                }
+            }, null);
         }
         
-        // Broadcast elimination
-        broadcastToPlayers(eliminationMessage);
+        // One summary broadcast for the whole batch
+        if (batch.size() == 1) {
+            broadcastToPlayers(configManager.getMessage("eliminated",
+                    "player", batch.get(0).getName(), "arena", name));
+        } else {
+            broadcastToPlayers(configManager.getMessage("eliminated-batch",
+                    "count", String.valueOf(batch.size()), "players", names.toString(), "arena", name));
+        }
         
-        // Strike lightning for effect
-        player.getWorld().strikeLightning(player.getLocation());
+        // The teleport pipeline preloads the lobby and spreads the batch over ticks
+        if (!teleporting.isEmpty()) {
+            gameManager.getTeleports().teleport(teleporting, lobby, null);
+        }
+        metrics.getEliminationBatches().recordSince(start);
+    }
+
+    private static void strikeLightning(Player player) {
+        player.getWorld().strikeLightningEffect(player.getLocation());
     }
 
     /**
@@ -254,9 +580,17 @@ public class Arena {
     public void playerReachedFinish(Player player) {
         UUID playerId = player.getUniqueId();
         if (!players.contains(playerId)) return;
+        long start = metrics.start();
         
         gameManager.addWinner(playerId);
         players.remove(playerId);
+        finishCount++;
+        matchWinners.add(playerId);
+        journal.finish(playerId, System.currentTimeMillis() - matchStartMillis, matchWinners.size());
+        membersChanged = true;
+        publish();
+        audience.remove(playerId);
+        unbindSession(playerId);
         
         // Send win message
         String winMessage = configManager.getMessage("player-won", 
@@ -264,13 +598,14 @@ public class Arena {
         player.sendMessage(winMessage);
         broadcastToPlayers(winMessage);
         
-        // Execute reward commands
-        List<String> rewardCommands = configManager.getRewardCommands();
+        // Queue reward commands, they are dispatched over the next ticks
+        List<String> rewardCommands = configManager.getSettings().rewardCommands();
         for (String command : rewardCommands) {
             command = command.replace("{player}", player.getName())
                            .replace("{arena}", name);
-            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+            gameManager.getRewards().enqueue(command);
         }
+        metrics.getFinishes().recordSince(start);
         
         // Check if game should end
         if (players.isEmpty()) {
@@ -283,7 +618,21 @@ public class Arena {
      * @param player Player to add
      */
     public void addPlayer(Player player) {
-        players.add(player.getUniqueId());
+        UUID playerId = player.getUniqueId();
+        
+        // Players can only be in one arena at a time
+        PlayerSession session = gameManager.getSession(playerId);
+        if (session != null && session.getArena() != this) {
+            session.getArena().removePlayer(player);
+        }
+        
+        if (players.add(playerId)) {
+            journal.join(playerId);
+        }
+        membersChanged = true;
+        publish();
+        audience.addPlayer(player);
+        bindSession(playerId, false);
         if (bossBar != null) {
             bossBar.addPlayer(player);
         }
@@ -294,40 +643,215 @@ public class Arena {
      * @param player Player to remove
      */
     public void removePlayer(Player player) {
-        UUID playerId = player.getUniqueId();
-        players.remove(playerId);
-        spectators.remove(playerId);
+        removeMember(player.getUniqueId());
         if (bossBar != null) {
             bossBar.removePlayer(player);
         }
     }
 
+    /**
+     * Remove a player or spectator by id, also when they are offline
+     * @param playerId Player to remove
+     */
+    public void removeMember(UUID playerId) {
+        if (players.remove(playerId) | spectators.remove(playerId)) {
+            journal.leave(playerId);
+        }
+        membersChanged = true;
+        publish();
+        audience.remove(playerId);
+        unbindSession(playerId);
+    }
+
+    /**
+     * Remove every player and spectator, closing their sessions
+     */
+    public void removeAllMembers() {
+        List<UUID> members = new ArrayList<>(players);
+        members.addAll(spectators);
+        for (UUID playerId : members) {
+            removeMember(playerId);
+        }
+    }
+
+    /**
+     * Bind a player's session to this arena
+     */
+    private void bindSession(UUID playerId, boolean spectator) {
+        gameManager.openSession(playerId).bind(this, spectator);
+    }
+
+    /**
+     * Release a player's session if it still points at this arena
+     */
+    private void unbindSession(UUID playerId) {
+        PlayerSession session = gameManager.getSession(playerId);
+        if (session != null && session.getArena() == this) {
+            gameManager.closeSession(playerId);
+        }
+    }
+
     /**
      * Broadcast a message to all players in the arena
      * @param message Message to broadcast
      */
     private void broadcastToPlayers(String message) {
-        for (UUID playerId : players) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null && player.isOnline()) {
-                player.sendMessage(message);
+        audience.broadcast(message);
+    }
+
+    /**
+     * Drop the live handle of a player who left the server
+     * @param player Quitting player
+     */
+    public void handleQuit(Player player) {
+        audience.remove(player.getUniqueId());
+        if (bossBar != null) {
+            bossBar.removePlayer(player);
+        }
+    }
+
+    /**
+     * Re-attach a player who rejoined while still part of the arena
+     * @param player Joining player
+     */
+    public void handleJoin(Player player) {
+        UUID playerId = player.getUniqueId();
+        if (players.contains(playerId)) {
+            audience.addPlayer(player);
+            if (bossBar != null) {
+                bossBar.addPlayer(player);
             }
+        } else if (spectators.contains(playerId)) {
+            audience.addSpectator(player);
         }
+    }
+
+    /**
+     * Set the region players have to reach to win in this arena
+     * @param region Finish region or null to only use the global finish
+     */
+    public void setFinishRegion(Cuboid region) {
+        gameManager.editDefinition(this, current -> current.withFinish(region));
+    }
+
+    /**
+     * Set the region covering the course, kept loaded during matches
+     * @param region Course region or null to only keep the lobby and finish loaded
+     */
+    public void setBounds(Cuboid region) {
+        gameManager.editDefinition(this, current -> current.withBounds(region));
+    }
+
+    /**
+     * Get the lobby eliminated players are sent to
+     * @return Arena lobby, or the global lobby if the arena has none
+     */
+    public Location getLobby() {
+        Location lobby = definition.lobby() != null ? definition.lobby().toLocation() : null;
+        return lobby != null ? lobby : gameManager.getLobby();
+    }
+
+    /**
+     * Get the location whose region ticks this arena on region threaded
+     * servers: the centre of the course, else of the finish, else the lobby
+     * @return Anchor location or null if the arena has no location at all
+     */
+    public Location getAnchor() {
+        Cuboid region = definition.bounds() != null ? definition.bounds() : definition.finish();
+        if (region != null) {
+            World world = Bukkit.getWorld(region.world());
+            if (world != null) {
+                return new Location(world, (region.minX() + region.maxX()) / 2,
+                        (region.minY() + region.maxY()) / 2, (region.minZ() + region.maxZ()) / 2);
+            }
+        }
+        return getLobby();
+    }
+
+    /**
+     * Get the effects shown on light changes
+     * @return Runtime override, or the toggles from config.yml
+     */
+    public EffectToggles getEffects() {
+        return effectOverride != null ? effectOverride : EffectToggles.of(configManager.getSettings());
+    }
+
+    /**
+     * Override the effects shown on light changes, applied to the running match
+     * @param effects New toggles, or null to follow config.yml again
+     */
+    public void setEffects(EffectToggles effects) {
+        this.effectOverride = effects;
         
-        for (UUID spectatorId : spectators) {
-            Player spectator = Bukkit.getPlayer(spectatorId);
-            if (spectator != null && spectator.isOnline()) {
-                spectator.sendMessage(message);
+        boolean showBossBar = getEffects().bossBar();
+        if (!showBossBar && bossBar != null) {
+            bossBar.removeAll();
+            bossBar = null;
+        } else if (showBossBar && bossBar == null && state == GameState.ACTIVE) {
+            ensureBossBar();
+            bossBar.setColor(lightState == LightState.GREEN ? BarColor.GREEN : BarColor.RED);
+            updateBossBar();
+            for (Player player : audience.getPlayers()) {
+                bossBar.addPlayer(player);
             }
         }
     }
 
+    /**
+     * Apply an updated definition, called by the {@link GameManager}
+     * @param definition New definition with the same key
+     */
+    public void setDefinition(ArenaDefinition definition) {
+        this.definition = definition;
+        compileMovement();
+    }
+
+    /**
+     * Compile the movement policy of the arena. A sweep compares positions
+     * over several ticks, so it always tolerates the sweep limits of
+     * config.yml on top of the policy.
+     */
+    private void compileMovement() {
+        RlglSettings settings = configManager.getSettings();
+        MovementPolicy policy = getMovementPolicy();
+        movementCheck = settings.detectionMode() == DetectionMode.SWEEP
+                ? policy.compile(settings.sweepMaxDistance(), settings.sweepMaxRotation())
+                : policy.compile(0.0, 0.0F);
+    }
+
+    /**
+     * Get the movement policy in effect for this arena
+     * @return Arena override or the configured default
+     */
+    public MovementPolicy getMovementPolicy() {
+        MovementPolicy override = definition.movement();
+        return override != null ? override : configManager.getSettings().movementPolicy();
+    }
+
     // Getters
     public String getName() { return name; }
-    public GameState getState() { return state; }
-    public LightState getLightState() { return lightState; }
-    public Set<UUID> getPlayers() { return new HashSet<>(players); }
-    public Set<UUID> getSpectators() { return new HashSet<>(spectators); }
+    public String getKey() { return key; }
+    public Cuboid getFinishRegion() { return definition.finish(); }
+    public Cuboid getBounds() { return definition.bounds(); }
+    public int getLoadedChunkCount() { return chunks.getHeldCount(); }
+    public ArenaDefinition getDefinition() { return definition; }
+    public ArenaSnapshot getSnapshot() { return snapshot; }
+    public MovementCheck getMovementCheck() { return movementCheck; }
+    public ArenaJournal getJournal() { return journal; }
+    public GameState getState() { return snapshot.state(); }
+    public LightState getLightState() { return snapshot.lightState(); }
+    public long getSeed() { return seed; }
+    public int getTimeRemaining() { return snapshot.secondsRemaining(); }
+    public int getPhaseDurationTicks() { return phaseDurationTicks; }
+    public int getPhaseCount() { return timeline.size(); }
+    public long getEliminationCount() { return eliminationCount; }
+    public long getFinishCount() { return finishCount; }
+    public List<PhaseSwitch> getTimeline() { return Collections.unmodifiableList(timeline); }
+    public Set<UUID> getPlayers() { return snapshot.players(); }
+    public Set<UUID> getSpectators() { return snapshot.spectators(); }
+    public int getPlayerCount() { return snapshot.players().size(); }
+    public int getSpectatorCount() { return snapshot.spectators().size(); }
+    public ArenaAudience getAudience() { return audience; }
     public boolean isPlayerInArena(UUID playerId) { return players.contains(playerId); }
     public boolean isSpectator(UUID playerId) { return spectators.contains(playerId); }
 }
\ No newline at end of file
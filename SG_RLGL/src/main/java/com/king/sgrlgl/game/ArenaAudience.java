@@ -0,0 +1,124 @@
+package com.king.sgrlgl.game;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Live player handles of an arena's players and spectators. Each broadcast
+ * prepares its payload once and fans it out without UUID lookups.
+ * Handles are dropped when a player quits and re-attached when they join.
+ *
+ * @author King
+ */
+public class ArenaAudience {
+
+    private final Map<UUID, Player> players = new LinkedHashMap<>();
+    private final Map<UUID, Player> spectators = new LinkedHashMap<>();
+
+    /**
+     * Track a player as an active participant
+     * @param player Online player
+     */
+    public void addPlayer(Player player) {
+        spectators.remove(player.getUniqueId());
+        players.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Track a player as a spectator
+     * @param player Online player
+     */
+    public void addSpectator(Player player) {
+        players.remove(player.getUniqueId());
+        spectators.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Stop tracking a player
+     * @param playerId Player UUID
+     */
+    public void remove(UUID playerId) {
+        players.remove(playerId);
+        spectators.remove(playerId);
+    }
+
+    /**
+     * Drop all spectator handles
+     */
+    public void clearSpectators() {
+        spectators.clear();
+    }
+
+    /**
+     * Send a chat message to players and spectators
+     * @param message Legacy formatted message
+     */
+    public void broadcast(String message) {
+        if (players.isEmpty() && spectators.isEmpty()) return;
+
+        BaseComponent[] components = TextComponent.fromLegacyText(message);
+        for (Player player : players.values()) {
+            player.spigot().sendMessage(components);
+        }
+        for (Player spectator : spectators.values()) {
+            spectator.spigot().sendMessage(components);
+        }
+    }
+
+    /**
+     * Send an action bar message to players
+     * @param message Legacy formatted message
+     */
+    public void sendActionBar(String message) {
+        if (players.isEmpty()) return;
+
+        BaseComponent[] components = TextComponent.fromLegacyText(message);
+        for (Player player : players.values()) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+        }
+    }
+
+    /**
+     * Send a title to players
+     */
+    public void sendTitle(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        for (Player player : players.values()) {
+            player.sendTitle(title, subtitle, fadeIn, stay, fadeOut);
+        }
+    }
+
+    /**
+     * Play a sound to players at their own location
+     * @param sound Sound to play
+     */
+    public void playSound(Sound sound) {
+        for (Player player : players.values()) {
+            player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
+        }
+    }
+
+    /**
+     * Get the online players
+     * @return Unmodifiable view of player handles
+     */
+    public Collection<Player> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * Get the online spectators
+     * @return Unmodifiable view of spectator handles
+     */
+    public Collection<Player> getSpectators() {
+        return Collections.unmodifiableCollection(spectators.values());
+    }
+}
@@ -0,0 +1,173 @@
+package com.king.sgrlgl.game;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.managers.ChunkTickets;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Chunks covering an arena's course, lobby and finish. They are loaded a
+ * few per tick during the pre-start countdown, held with plugin tickets
+ * while the match runs and released a while after it ends, so a quick
+ * rematch finds them still loaded.
+ * 
+ * @author King
+ */
+class ArenaChunks {
+
+    // Guard against a mistyped corner covering half the world
+    private static final int MAX_CHUNKS = 4096;
+
+    private final Main plugin;
+    private final ChunkTickets tickets;
+    private final Deque<ChunkPos> queue = new ArrayDeque<>();
+    private final List<ChunkPos> held = new ArrayList<>();
+
+    private TaskHandle releaseTask;
+    // Loads complete on the thread owning the chunk
+    private final AtomicInteger loading = new AtomicInteger();
+    private volatile int generation;
+    private boolean warm;
+    // Chunks the held and queued chunks were taken from
+    private Set<ChunkPos> warmedFrom = Set.of();
+
+    ArenaChunks(Main plugin, ChunkTickets tickets) {
+        this.plugin = plugin;
+        this.tickets = tickets;
+    }
+
+    /**
+     * Queue the chunks of an arena to be loaded, reusing chunks still held
+     * from the previous match unless the arena moved since
+     * @param definition Arena definition
+     * @param lobby Lobby eliminated players are sent to, may be null
+     * @param anchor Location of the region ticking the arena, loaded first
+     */
+    void warm(ArenaDefinition definition, Location lobby, Location anchor) {
+        if (releaseTask != null) {
+            releaseTask.cancel();
+            releaseTask = null;
+        }
+
+        Set<ChunkPos> chunks = new LinkedHashSet<>();
+        addLocation(chunks, anchor);
+        addRegion(chunks, definition.bounds());
+        addRegion(chunks, definition.finish());
+        addLocation(chunks, lobby);
+
+        if (warm) {
+            if (chunks.equals(warmedFrom)) return;
+            // Bounds, finish or lobby changed, the old chunks are not needed any more
+            release();
+        }
+        warm = true;
+        warmedFrom = chunks;
+
+        if (chunks.size() > MAX_CHUNKS) {
+            plugin.getLogger().warning("Arena " + definition.name() + " covers " + chunks.size()
+                    + " chunks, only the first " + MAX_CHUNKS + " are kept loaded");
+        }
+        for (ChunkPos pos : chunks) {
+            if (queue.size() >= MAX_CHUNKS) break;
+            queue.add(pos);
+        }
+    }
+
+    private static void addLocation(Set<ChunkPos> chunks, Location location) {
+        if (location != null && location.getWorld() != null) {
+            chunks.add(new ChunkPos(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        }
+    }
+
+    private static void addRegion(Set<ChunkPos> chunks, Cuboid region) {
+        if (region == null) return;
+        World world = Bukkit.getWorld(region.world());
+        if (world == null) return;
+
+        for (int x = region.minChunkX(); x <= region.maxChunkX(); x++) {
+            for (int z = region.minChunkZ(); z <= region.maxChunkZ(); z++) {
+                chunks.add(new ChunkPos(world, x, z));
+            }
+        }
+    }
+
+    /**
+     * Start loading the next queued chunks
+     * @param budget Maximum chunks to request this tick
+     */
+    void pump(int budget) {
+        int started = generation;
+        ChunkPos pos;
+        while (budget-- > 0 && (pos = queue.poll()) != null) {
+            held.add(pos);
+            loading.incrementAndGet();
+            tickets.acquire(pos.world, pos.x, pos.z).whenComplete((ignored, error) -> {
+                // Released in the meantime, the counter was already reset
+                if (generation != started) return;
+                if (error != null) {
+                    plugin.getLogger().log(Level.WARNING, "Could not load arena chunk", error);
+                }
+                loading.decrementAndGet();
+            });
+        }
+    }
+
+    /**
+     * Check if every queued chunk is loaded and ticketed
+     */
+    boolean isReady() {
+        return queue.isEmpty() && loading.get() == 0;
+    }
+
+    /**
+     * Release the chunks after a delay, unless the arena is warmed again
+     * @param delayTicks Ticks to keep the chunks loaded
+     * @param anchor Location of the region ticking the arena
+     */
+    void scheduleRelease(long delayTicks, Location anchor) {
+        if (!warm) return;
+        if (delayTicks <= 0) {
+            release();
+            return;
+        }
+        if (releaseTask != null) {
+            releaseTask.cancel();
+        }
+        releaseTask = plugin.getPluginScheduler().runLaterAt(anchor, this::release, delayTicks);
+    }
+
+    /**
+     * Release all chunks right away
+     */
+    void release() {
+        if (releaseTask != null) {
+            releaseTask.cancel();
+            releaseTask = null;
+        }
+        for (ChunkPos pos : held) {
+            tickets.release(pos.world, pos.x, pos.z);
+        }
+        held.clear();
+        queue.clear();
+        loading.set(0);
+        generation++;
+        warm = false;
+        warmedFrom = Set.of();
+    }
+
+    int getHeldCount() { return held.size(); }
+
+    private record ChunkPos(World world, int x, int z) {
+    }
+}
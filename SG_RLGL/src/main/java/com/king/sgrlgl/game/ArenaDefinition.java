@@ -0,0 +1,78 @@
+package com.king.sgrlgl.game;
+
+import com.king.sgrlgl.managers.StoredLocation;
+
+import java.util.regex.Pattern;
+
+/**
+ * Persisted description of an arena. Definitions are cheap to keep around;
+ * the {@link Arena} itself is only created when the arena is first used.
+ * 
+ * @param name Display name
+ * @param world World the arena is built in, may be null
+ * @param lobby Arena lobby, null to use the global lobby
+ * @param finish Finish region, null to only use the global finish
+ * @param redLight Red light timer override, null to use config.yml
+ * @param greenLight Green light timer override, null to use config.yml
+ * @param bounds Region covering the course, null if not set
+ * @param movement Movement tolerance override, null to use config.yml
+ * @author King
+ */
+public record ArenaDefinition(String name, String world, StoredLocation lobby, Cuboid finish,
+                              TimerRange redLight, TimerRange greenLight, Cuboid bounds,
+                              MovementPolicy movement) {
+
+    // Names become storage keys and journal folder names
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    /**
+     * Check if a name can be used for an arena
+     * @param name Name to check
+     * @return True for 1 to 32 letters, digits, underscores and dashes
+     */
+    public static boolean isValidName(String name) {
+        return name != null && VALID_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Create a definition without any overrides
+     * @param name Display name
+     * @param world World name, may be null
+     * @return New definition
+     */
+    public static ArenaDefinition create(String name, String world) {
+        return new ArenaDefinition(name, world, null, null, null, null, null, null);
+    }
+
+    /**
+     * Get the lookup key of the arena
+     * @return Lower case name
+     */
+    public String key() {
+        return name.toLowerCase();
+    }
+
+    public ArenaDefinition withLobby(StoredLocation lobby) {
+        return new ArenaDefinition(name, world, lobby, finish, redLight, greenLight, bounds, movement);
+    }
+
+    public ArenaDefinition withFinish(Cuboid finish) {
+        String finishWorld = world == null && finish != null ? finish.world() : world;
+        return new ArenaDefinition(name, finishWorld, lobby, finish, redLight, greenLight, bounds, movement);
+    }
+
+    public ArenaDefinition withTimer(LightState light, TimerRange range) {
+        return light == LightState.RED
+                ? new ArenaDefinition(name, world, lobby, finish, range, greenLight, bounds, movement)
+                : new ArenaDefinition(name, world, lobby, finish, redLight, range, bounds, movement);
+    }
+
+    public ArenaDefinition withBounds(Cuboid bounds) {
+        String boundsWorld = world == null && bounds != null ? bounds.world() : world;
+        return new ArenaDefinition(name, boundsWorld, lobby, finish, redLight, greenLight, bounds, movement);
+    }
+
+    public ArenaDefinition withMovement(MovementPolicy movement) {
+        return new ArenaDefinition(name, world, lobby, finish, redLight, greenLight, bounds, movement);
+    }
+}
@@ -0,0 +1,44 @@
+package com.king.sgrlgl.game;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of an arena, published by the arena whenever its state
+ * changes. Any thread (placeholders, scoreboards, dashboards) can read a
+ * consistent view without locking or copying.
+ * 
+ * @param state Game state
+ * @param lightState Current light, GREEN while no match runs
+ * @param secondsRemaining Seconds left in the phase or countdown
+ * @param phaseStartMillis Wall clock time the current phase started, 0 before the first match
+ * @param phaseStartNanos {@link System#nanoTime()} of the current phase start, for grace windows
+ * @param phaseDurationTicks Length of the current phase
+ * @param seed Seed of the current or last match
+ * @param players Players still in the match
+ * @param spectators Eliminated players watching the match
+ * @author King
+ */
+public record ArenaSnapshot(GameState state, LightState lightState, int secondsRemaining,
+                            long phaseStartMillis, long phaseStartNanos, int phaseDurationTicks, long seed,
+                            Set<UUID> players, Set<UUID> spectators) {
+
+    static final ArenaSnapshot IDLE = new ArenaSnapshot(GameState.WAITING, LightState.GREEN, 0,
+            0L, 0L, 0, 0L, Set.of(), Set.of());
+
+    /**
+     * Check if players must stand still
+     * @return True while a match runs under red light
+     */
+    public boolean isRedLight() {
+        return state == GameState.ACTIVE && lightState == LightState.RED;
+    }
+
+    /**
+     * Get the wall clock time the current phase ends
+     * @return End time in milliseconds
+     */
+    public long phaseEndMillis() {
+        return phaseStartMillis + phaseDurationTicks * (1000L / TimerRange.TICKS_PER_SECOND);
+    }
+}
@@ -0,0 +1,360 @@
+package com.king.sgrlgl.game;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.scheduler.PluginScheduler;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Drives every active arena from repeating tasks. Arenas are kept in a
+ * deadline queue keyed on the tick they next need to run, so idle arenas
+ * cost nothing and the task itself stops when no arena is scheduled.
+ * Arenas with queued work (such as elimination batches) are also flushed
+ * here, once per tick, right after the events of the previous tick.
+ * <p>
+ * On a single threaded server all arenas share one lane on the main
+ * thread. On a region threaded server every arena gets its own lane,
+ * ticked by the region that owns the arena, so arenas in different
+ * regions run in parallel.
+ *
+ * @author King
+ */
+public class ArenaTicker {
+
+    private final Main plugin;
+    private final PluginScheduler scheduler;
+    // Null when every arena has its own lane
+    private final Lane shared;
+    private final Map<Arena, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<Arena, Timing> timings = new ConcurrentHashMap<>();
+
+    public ArenaTicker(Main plugin, PluginScheduler scheduler) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.shared = scheduler.isRegionThreaded() ? null : new Lane(null);
+    }
+
+    private Lane lane(Arena arena) {
+        if (shared != null) return shared;
+        return lanes.computeIfAbsent(arena, key -> new Lane(key.getAnchor()));
+    }
+
+    // Lane ticking an arena right now, null once the arena was removed
+    private Lane currentLane(Arena arena) {
+        return shared != null ? shared : lanes.get(arena);
+    }
+
+    private Timing timing(Arena arena) {
+        return timings.computeIfAbsent(arena, key -> new Timing());
+    }
+
+    /**
+     * Schedule an arena to be ticked, replacing any earlier deadline
+     * @param arena Arena to tick
+     * @param delay Ticks from now, at least 1
+     */
+    public void schedule(Arena arena, long delay) {
+        lane(arena).schedule(arena, delay);
+    }
+
+    /**
+     * Flush an arena's queued work at the start of the next tick
+     * @param arena Arena with pending work
+     */
+    public void requestFlush(Arena arena) {
+        lane(arena).requestFlush(arena);
+    }
+
+    /**
+     * Stop ticking an arena
+     * @param arena Arena to remove from the schedule
+     */
+    public void cancel(Arena arena) {
+        lane(arena).cancel(arena);
+    }
+
+    /**
+     * Run an action on the thread that ticks an arena, right away if the
+     * current thread already does
+     * @param arena Arena the action changes
+     * @param action Action to run
+     */
+    public void execute(Arena arena, Runnable action) {
+        scheduler.executeAt(lane(arena).anchor, action);
+    }
+
+    /**
+     * Check if the current thread ticks an arena
+     * @param arena Arena to check
+     * @return True if the arena can be changed from this thread
+     */
+    public boolean isOwnedByCurrentThread(Arena arena) {
+        return scheduler.isOwnedByCurrentThread(lane(arena).anchor);
+    }
+
+    /**
+     * Get the clock of the lane that ticks an arena
+     * @param arena Arena to look up
+     * @return Ticks the lane has run
+     */
+    public long getCurrentTick(Arena arena) {
+        return lane(arena).getCurrentTick();
+    }
+
+    /**
+     * Stop the ticker and forget all deadlines
+     */
+    public void shutdown() {
+        if (shared != null) {
+            shared.shutdown();
+        }
+        for (Lane lane : lanes.values()) {
+            lane.shutdown();
+        }
+        lanes.clear();
+    }
+
+    /**
+     * Get tick timing statistics for an arena
+     * @param arena Arena to look up
+     * @return Timing or null if the arena was never ticked
+     */
+    public Timing getTiming(Arena arena) {
+        return timings.get(arena);
+    }
+
+    /**
+     * Forget an arena that no longer exists
+     * @param arena Arena to remove
+     */
+    public void remove(Arena arena) {
+        timings.remove(arena);
+        if (shared != null) {
+            shared.forget(arena);
+        } else {
+            Lane lane = lanes.remove(arena);
+            if (lane != null) lane.shutdown();
+        }
+    }
+
+    /**
+     * Move an arena to a new lane when its anchor changed, keeping its
+     * clock, deadline and pending flush. Only needed on a region threaded
+     * server, and must run on the thread that ticks the arena.
+     * @param arena Arena whose definition changed
+     */
+    public void relocate(Arena arena) {
+        if (shared != null) return;
+        Lane old = lanes.get(arena);
+        if (old == null) return;
+        Location anchor = arena.getAnchor();
+        if (Objects.equals(old.anchor, anchor)) return;
+
+        Lane next = new Lane(anchor);
+        // Published first so work queued meanwhile already lands on the new lane
+        lanes.put(arena, next);
+        old.handOver(arena, next);
+    }
+
+    /**
+     * Deadline queue ticked by one thread. Callers on other threads only
+     * add deadlines and flush requests, under the lane's lock. The lock is
+     * never held while an arena runs.
+     */
+    private final class Lane implements Runnable {
+        // Location whose region runs the lane, null for the main thread
+        private final Location anchor;
+        private final PriorityQueue<Deadline> queue = new PriorityQueue<>();
+        private final Set<Arena> flushing = new LinkedHashSet<>();
+        // Deadlines due this tick, only touched by the ticking thread
+        private final List<Deadline> ready = new ArrayList<>();
+
+        private TaskHandle task;
+        private long currentTick;
+        private boolean closed;
+
+        private Lane(Location anchor) {
+            this.anchor = anchor;
+        }
+
+        synchronized void schedule(Arena arena, long delay) {
+            long due = currentTick + Math.max(1L, delay);
+            timing(arena).dueTick = due;
+            queue.add(new Deadline(due, arena));
+            ensureRunning();
+        }
+
+        synchronized void requestFlush(Arena arena) {
+            flushing.add(arena);
+            ensureRunning();
+        }
+
+        synchronized void cancel(Arena arena) {
+            Timing timing = timings.get(arena);
+            if (timing != null) {
+                // Queue entries are dropped lazily when they come due
+                timing.dueTick = -1L;
+            }
+        }
+
+        synchronized void forget(Arena arena) {
+            flushing.remove(arena);
+        }
+
+        synchronized long getCurrentTick() {
+            return currentTick;
+        }
+
+        synchronized void handOver(Arena arena, Lane next) {
+            Timing timing = timings.get(arena);
+            long due = timing != null ? timing.dueTick : -1L;
+            boolean flush = flushing.contains(arena);
+            long tick = currentTick;
+            shutdown();
+            next.resume(arena, tick, due, flush);
+        }
+
+        synchronized void resume(Arena arena, long tick, long due, boolean flush) {
+            // Arenas keep their match timings in ticks of this clock
+            currentTick = Math.max(currentTick, tick);
+            if (due >= 0) schedule(arena, due - currentTick);
+            if (flush) requestFlush(arena);
+        }
+
+        private void ensureRunning() {
+            if (task == null && !closed) {
+                task = scheduler.runTimerAt(anchor, this, 1L, 1L);
+            }
+        }
+
+        @Override
+        public void run() {
+            // Take the work of this tick under the lock, then run the arenas
+            // without it so other threads never wait on a slow arena
+            long now;
+            Arena[] pending = null;
+            synchronized (this) {
+                now = ++currentTick;
+                if (!flushing.isEmpty()) {
+                    pending = flushing.toArray(new Arena[0]);
+                    flushing.clear();
+                }
+                Deadline next;
+                while ((next = queue.peek()) != null && next.tick <= now) {
+                    queue.poll();
+                    Timing timing = timings.get(next.arena);
+                    if (timing == null || timing.dueTick != next.tick) continue; // Cancelled or rescheduled
+                    timing.dueTick = -1L;
+                    ready.add(next);
+                }
+            }
+
+            if (pending != null) {
+                for (Arena arena : pending) {
+                    long start = System.nanoTime();
+                    try {
+                        // Arenas may request another flush while being flushed
+                        Lane lane = currentLane(arena);
+                        if (arena.flushPending() && lane != null) {
+                            lane.requestFlush(arena);
+                        }
+                    } catch (RuntimeException e) {
+                        plugin.getLogger().log(Level.SEVERE, "Error while flushing arena " + arena.getName(), e);
+                    }
+                    timing(arena).record(System.nanoTime() - start);
+                }
+            }
+
+            for (int i = 0; i < ready.size(); i++) {
+                Deadline next = ready.get(i);
+                long start = System.nanoTime();
+                long delay;
+                try {
+                    delay = next.arena.tick(now);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Error while ticking arena " + next.arena.getName(), e);
+                    delay = 20L;
+                }
+                Timing timing = timings.get(next.arena);
+                if (timing != null) timing.record(System.nanoTime() - start);
+
+                // The arena may have moved to another lane, or been removed, meanwhile
+                Lane lane = currentLane(next.arena);
+                if (delay > 0 && lane != null) {
+                    lane.schedule(next.arena, delay);
+                }
+            }
+            ready.clear();
+
+            synchronized (this) {
+                if (queue.isEmpty() && flushing.isEmpty() && task != null) {
+                    task.cancel();
+                    task = null;
+                }
+            }
+        }
+
+        synchronized void shutdown() {
+            // A tick still running must not restart the task
+            closed = true;
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+            for (Deadline deadline : queue) {
+                Timing timing = timings.get(deadline.arena);
+                if (timing != null) timing.dueTick = -1L;
+            }
+            queue.clear();
+            flushing.clear();
+        }
+    }
+
+    private static final class Deadline implements Comparable<Deadline> {
+        private final long tick;
+        private final Arena arena;
+
+        private Deadline(long tick, Arena arena) {
+            this.tick = tick;
+            this.arena = arena;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(tick, other.tick);
+        }
+    }
+
+    /**
+     * Time spent ticking one arena
+     */
+    public static final class Timing {
+        private long dueTick = -1L;
+        private volatile long lastNanos;
+        private volatile long maxNanos;
+        private long totalNanos;
+        private volatile long count;
+
+        private void record(long nanos) {
+            lastNanos = nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            totalNanos += nanos;
+            count++;
+        }
+
+        public long getLastNanos() { return lastNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public long getCount() { return count; }
+        public double getAverageNanos() { long n = count; return n == 0 ? 0.0 : (double) totalNanos / n; }
+    }
+}
@@ -0,0 +1,93 @@
+package com.king.sgrlgl.game;
+
+import org.bukkit.Location;
+
+/**
+ * Axis-aligned box in a world, in block coordinates
+ * 
+ * @author King
+ */
+public record Cuboid(String world, double minX, double minY, double minZ,
+                     double maxX, double maxY, double maxZ) {
+
+    /**
+     * Build the box covering two corner blocks and everything between them
+     * @param a First corner block location
+     * @param b Opposite corner block location
+     * @return Box covering the full volume of both blocks
+     */
+    public static Cuboid ofBlocks(Location a, Location b) {
+        return new Cuboid(a.getWorld().getName(),
+                Math.min(a.getBlockX(), b.getBlockX()),
+                Math.min(a.getBlockY(), b.getBlockY()),
+                Math.min(a.getBlockZ(), b.getBlockZ()),
+                Math.max(a.getBlockX(), b.getBlockX()) + 1,
+                Math.max(a.getBlockY(), b.getBlockY()) + 1,
+                Math.max(a.getBlockZ(), b.getBlockZ()) + 1);
+    }
+
+    /**
+     * Check if a point lies inside the box
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x < maxX && y >= minY && y < maxY && z >= minZ && z < maxZ;
+    }
+
+    /**
+     * Check if the straight path between two points enters the box, so
+     * fast diagonal moves over a thin region are still detected. Like
+     * {@link #contains}, the min faces belong to the box and the max faces
+     * do not, so feet resting on top of a block are not inside it.
+     */
+    public boolean intersectsSegment(double x0, double y0, double z0, double x1, double y1, double z1) {
+        double tMin = 0.0;
+        double tMax = 1.0;
+
+        double dx = x1 - x0;
+        if (dx == 0.0) {
+            if (x0 < minX || x0 >= maxX) return false;
+        } else {
+            double a = (minX - x0) / dx;
+            double b = (maxX - x0) / dx;
+            tMin = Math.max(tMin, Math.min(a, b));
+            tMax = Math.min(tMax, Math.max(a, b));
+            if (tMin > tMax) return false;
+        }
+
+        double dy = y1 - y0;
+        if (dy == 0.0) {
+            if (y0 < minY || y0 >= maxY) return false;
+        } else {
+            double a = (minY - y0) / dy;
+            double b = (maxY - y0) / dy;
+            tMin = Math.max(tMin, Math.min(a, b));
+            tMax = Math.min(tMax, Math.max(a, b));
+            if (tMin > tMax) return false;
+        }
+
+        double dz = z1 - z0;
+        if (dz == 0.0) {
+            if (z0 < minZ || z0 >= maxZ) return false;
+        } else {
+            double a = (minZ - z0) / dz;
+            double b = (maxZ - z0) / dz;
+            tMin = Math.max(tMin, Math.min(a, b));
+            tMax = Math.min(tMax, Math.max(a, b));
+            if (tMin > tMax) return false;
+        }
+
+        // A stretch of the path runs through the inside
+        if (tMin < tMax) return true;
+        // The path only touches the box in one point, which counts on a min face only
+        if (tMin == 0.0) return contains(x0, y0, z0);
+        if (tMin == 1.0) return contains(x1, y1, z1);
+        return contains(x0 + dx * tMin, y0 + dy * tMin, z0 + dz * tMin);
+    }
+
+    // Chunk coverage, used for spatial indexing. The max is exclusive, a box
+    // ending on a chunk border does not reach into the next chunk
+    public int minChunkX() { return (int) Math.floor(minX) >> 4; }
+    public int minChunkZ() { return (int) Math.floor(minZ) >> 4; }
+    public int maxChunkX() { return Math.max(minChunkX(), ((int) Math.ceil(maxX) - 1) >> 4); }
+    public int maxChunkZ() { return Math.max(minChunkZ(), ((int) Math.ceil(maxZ) - 1) >> 4); }
+}
@@ -0,0 +1,27 @@
+package com.king.sgrlgl.game;
+
+/**
+ * How players moving during Red Light are detected
+ * 
+ * @author King
+ */
+public enum DetectionMode {
+    /** Check every player move event */
+    EVENT,
+    /** Record positions when the light turns red and compare them once per tick */
+    SWEEP;
+
+    /**
+     * Parse a mode name, ignoring case
+     * @param name Mode name from the configuration
+     * @return Matching mode or null if unknown
+     */
+    public static DetectionMode fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.king.sgrlgl.game;
+
+import com.king.sgrlgl.managers.RlglSettings;
+
+/**
+ * Light change effects shown by an arena. Arenas follow config.yml unless
+ * the toggles were overridden at runtime.
+ * 
+ * @param sounds Play the light sounds
+ * @param actionBar Show the action bar message
+ * @param bossBar Show the phase boss bar
+ * @author King
+ */
+public record EffectToggles(boolean sounds, boolean actionBar, boolean bossBar) {
+
+    /**
+     * Get the toggles configured in config.yml
+     * @param settings Current settings
+     * @return Configured toggles
+     */
+    public static EffectToggles of(RlglSettings settings) {
+        return new EffectToggles(settings.soundsEnabled(), settings.actionBarEnabled(), settings.bossBarEnabled());
+    }
+
+    public EffectToggles withSounds(boolean sounds) {
+        return new EffectToggles(sounds, actionBar, bossBar);
+    }
+
+    public EffectToggles withActionBar(boolean actionBar) {
+        return new EffectToggles(sounds, actionBar, bossBar);
+    }
+
+    public EffectToggles withBossBar(boolean bossBar) {
+        return new EffectToggles(sounds, actionBar, bossBar);
+    }
+}
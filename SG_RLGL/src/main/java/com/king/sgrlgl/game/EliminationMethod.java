@@ -0,0 +1,26 @@
+package com.king.sgrlgl.game;
+
+/**
+ * How a player caught moving during Red Light is eliminated
+ * 
+ * @author King
+ */
+public enum EliminationMethod {
+    KILL,
+    KICK,
+    TELEPORT;
+
+    /**
+     * Parse a method name, ignoring case
+     * @param name Method name from the configuration
+     * @return Matching method or null if unknown
+     */
+    public static EliminationMethod fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
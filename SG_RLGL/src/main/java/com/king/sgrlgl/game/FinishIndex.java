@@ -0,0 +1,151 @@
+package com.king.sgrlgl.game;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial hash of finish regions keyed by world and chunk. A move event
+ * only tests the few regions overlapping the chunks it touches.
+ * 
+ * @author King
+ */
+public class FinishIndex {
+
+    private static final Entry[] NONE = new Entry[0];
+
+    // All regions by arena key, the source the chunk table is built from
+    private final Map<String, Cuboid> regions = new HashMap<>();
+    private Cuboid globalFinish;
+
+    // world name -> chunk key -> regions overlapping that chunk
+    // Replaced as a whole on rebuild, so move events on any thread see a complete table
+    private volatile Map<String, Map<Long, Entry[]>> chunks = Map.of();
+
+    /**
+     * Set or clear the finish region of an arena
+     * @param arenaKey Lower case arena name
+     * @param region Region or null to remove it
+     */
+    public synchronized void setRegion(String arenaKey, Cuboid region) {
+        if (region == null) {
+            regions.remove(arenaKey);
+        } else {
+            regions.put(arenaKey, region);
+        }
+        rebuild();
+    }
+
+    /**
+     * Set or clear the finish that applies to every arena
+     * @param region Region or null to remove it
+     */
+    public synchronized void setGlobalFinish(Cuboid region) {
+        this.globalFinish = region;
+        rebuild();
+    }
+
+    /**
+     * Get the finish region of an arena
+     * @param arenaKey Lower case arena name
+     * @return Region or null if the arena has none
+     */
+    public synchronized Cuboid getRegion(String arenaKey) {
+        return regions.get(arenaKey);
+    }
+
+    /**
+     * Check if a move crossed a finish region that applies to an arena
+     * @param arenaKey Lower case name of the player's arena
+     * @param from Position before the move
+     * @param to Position after the move
+     * @return True if the path touched a matching region
+     */
+    public boolean reached(String arenaKey, Location from, Location to) {
+        if (to == null) return false;
+        World world = to.getWorld();
+        if (world == null) return false;
+
+        Map<Long, Entry[]> worldChunks = chunks.get(world.getName());
+        if (worldChunks == null) return false;
+
+        long toKey = chunkKey(to.getBlockX() >> 4, to.getBlockZ() >> 4);
+        if (matches(worldChunks.getOrDefault(toKey, NONE), arenaKey, from, to)) return true;
+
+        long fromKey = chunkKey(from.getBlockX() >> 4, from.getBlockZ() >> 4);
+        return fromKey != toKey && matches(worldChunks.getOrDefault(fromKey, NONE), arenaKey, from, to);
+    }
+
+    private static boolean matches(Entry[] entries, String arenaKey, Location from, Location to) {
+        for (Entry entry : entries) {
+            if (entry.arenaKey != null && !entry.arenaKey.equals(arenaKey)) continue;
+            if (entry.region.intersectsSegment(from.getX(), from.getY(), from.getZ(),
+                    to.getX(), to.getY(), to.getZ())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild the chunk table, only called when a region changes
+     */
+    private void rebuild() {
+        Map<String, Map<Long, List<Entry>>> building = new HashMap<>();
+        if (globalFinish != null) {
+            add(building, new Entry(null, globalFinish));
+        }
+        for (Map.Entry<String, Cuboid> region : regions.entrySet()) {
+            add(building, new Entry(region.getKey(), region.getValue()));
+        }
+
+        Map<String, Map<Long, Entry[]>> built = new HashMap<>();
+        for (Map.Entry<String, Map<Long, List<Entry>>> world : building.entrySet()) {
+            Map<Long, Entry[]> worldChunks = new HashMap<>();
+            for (Map.Entry<Long, List<Entry>> chunk : world.getValue().entrySet()) {
+                worldChunks.put(chunk.getKey(), chunk.getValue().toArray(NONE));
+            }
+            built.put(world.getKey(), worldChunks);
+        }
+        chunks = built;
+    }
+
+    private static void add(Map<String, Map<Long, List<Entry>>> building, Entry entry) {
+        Cuboid region = entry.region;
+        Map<Long, List<Entry>> worldChunks = building.computeIfAbsent(region.world(), key -> new HashMap<>());
+        for (int cx = region.minChunkX(); cx <= region.maxChunkX(); cx++) {
+            for (int cz = region.minChunkZ(); cz <= region.maxChunkZ(); cz++) {
+                worldChunks.computeIfAbsent(chunkKey(cx, cz), key -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Pack chunk coordinates into one key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the number of indexed regions, including the global finish
+     */
+    public int size() {
+        return regions.size() + (globalFinish != null ? 1 : 0);
+    }
+
+    private static final class Entry {
+        // Null for the global finish, which applies to every arena
+        private final String arenaKey;
+        private final Cuboid region;
+
+        private Entry(String arenaKey, Cuboid region) {
+            this.arenaKey = arenaKey;
+            this.region = region;
+        }
+    }
+}
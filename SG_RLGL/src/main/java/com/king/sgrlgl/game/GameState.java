@@ -7,6 +7,7 @@ package com.king.sgrlgl.game;
  */
 public enum GameState {
     WAITING,
+    STARTING,
     ACTIVE,
     FINISHED
 }
\ No newline at end of file
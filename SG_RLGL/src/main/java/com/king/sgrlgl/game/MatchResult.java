@@ -0,0 +1,25 @@
+package com.king.sgrlgl.game;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one match, recorded when it ends
+ * 
+ * @param arena Arena key
+ * @param seed Seed of the phase timings, replays the match with /rlgl start
+ * @param startedAt Wall clock time the first green light began, in milliseconds
+ * @param endedAt Wall clock time the match ended, in milliseconds
+ * @param phases Number of light phases played
+ * @param players Players in the match when it began
+ * @param eliminations Players eliminated during the match
+ * @param winners Players who reached the finish, in finishing order
+ * @author King
+ */
+public record MatchResult(String arena, long seed, long startedAt, long endedAt, int phases,
+                          int players, int eliminations, List<UUID> winners) {
+
+    public MatchResult {
+        winners = List.copyOf(winners);
+    }
+}
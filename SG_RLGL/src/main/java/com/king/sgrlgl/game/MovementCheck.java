@@ -0,0 +1,86 @@
+package com.king.sgrlgl.game;
+
+import org.bukkit.Location;
+
+/**
+ * Compiled movement predicate of an arena. Every mode is reduced to a
+ * squared distance, a rotation limit and a block flag, so a check is a
+ * handful of comparisons without walking the policy again.
+ * 
+ * @author King
+ */
+public final class MovementCheck {
+
+    private final boolean blocks;
+    private final double maxDistanceSquared;
+    // Infinite when rotation does not count, no comparison can exceed it
+    private final float maxRotation;
+
+    private MovementCheck(boolean blocks, double maxDistance, float maxRotation) {
+        this.blocks = blocks;
+        this.maxDistanceSquared = maxDistance * maxDistance;
+        this.maxRotation = maxRotation;
+    }
+
+    static MovementCheck any(double maxDistance, float maxRotation) {
+        return new MovementCheck(false, maxDistance, maxRotation);
+    }
+
+    static MovementCheck distance(double maxDistance) {
+        return new MovementCheck(false, maxDistance, Float.POSITIVE_INFINITY);
+    }
+
+    static MovementCheck blocks() {
+        return new MovementCheck(true, 0.0, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Check a move event
+     * @param from Position before the move
+     * @param to Position after the move
+     * @return True if the player moved
+     */
+    public boolean moved(Location from, Location to) {
+        return moved(from.getX(), from.getY(), from.getZ(), from.getYaw(), from.getPitch(), to);
+    }
+
+    /**
+     * Check a position against a recorded one
+     * @param x Recorded x
+     * @param y Recorded y
+     * @param z Recorded z
+     * @param yaw Recorded yaw
+     * @param pitch Recorded pitch
+     * @param to Current position
+     * @return True if the player moved
+     */
+    public boolean moved(double x, double y, double z, float yaw, float pitch, Location to) {
+        if (blocks) {
+            return (Math.floor(x) != Math.floor(to.getX()))
+                    | (Math.floor(y) != Math.floor(to.getY()))
+                    | (Math.floor(z) != Math.floor(to.getZ()));
+        }
+        double dx = to.getX() - x;
+        double dy = to.getY() - y;
+        double dz = to.getZ() - z;
+        return (dx * dx + dy * dy + dz * dz > maxDistanceSquared)
+                | (angle(to.getYaw(), yaw) > maxRotation)
+                | (Math.abs(to.getPitch() - pitch) > maxRotation);
+    }
+
+    /**
+     * Smallest difference between two yaw angles in degrees
+     */
+    private static float angle(float a, float b) {
+        float delta = Math.abs(a - b) % 360.0F;
+        return delta > 180.0F ? 360.0F - delta : delta;
+    }
+
+    /**
+     * Check if turning the head alone can count as moving
+     * @return False if rotation-only moves can be skipped
+     */
+    public boolean countsRotation() {
+        return maxRotation != Float.POSITIVE_INFINITY;
+    }
+}
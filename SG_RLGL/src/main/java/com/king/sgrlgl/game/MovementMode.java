@@ -0,0 +1,31 @@
+package com.king.sgrlgl.game;
+
+/**
+ * What counts as moving during Red Light
+ * 
+ * @author King
+ */
+public enum MovementMode {
+    /** Any change of position or rotation */
+    ANY,
+    /** Any change of position, turning the head is allowed */
+    POSITION,
+    /** Position changes larger than a distance, absorbs jitter and settling */
+    EPSILON,
+    /** Stepping onto another block */
+    BLOCK;
+
+    /**
+     * Parse a mode name, ignoring case
+     * @param name Mode name from the configuration
+     * @return Matching mode or null if unknown
+     */
+    public static MovementMode fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
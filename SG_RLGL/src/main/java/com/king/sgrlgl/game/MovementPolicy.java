@@ -0,0 +1,35 @@
+package com.king.sgrlgl.game;
+
+/**
+ * Movement tolerance of an arena, as configured. Compiled into a
+ * {@link MovementCheck} before it is used on move events.
+ * 
+ * @param mode What counts as moving
+ * @param epsilon Distance in blocks a player may drift in {@link MovementMode#EPSILON} mode
+ * @author King
+ */
+public record MovementPolicy(MovementMode mode, double epsilon) {
+
+    public MovementPolicy {
+        epsilon = Math.max(0.0, epsilon);
+    }
+
+    /**
+     * Compile the policy into a movement check
+     * @param baseDistance Distance in blocks always tolerated, 0 to catch every change
+     * @param baseRotation Degrees always tolerated when rotation counts
+     * @return Compiled check
+     */
+    public MovementCheck compile(double baseDistance, float baseRotation) {
+        switch (mode) {
+            case POSITION:
+                return MovementCheck.distance(baseDistance);
+            case EPSILON:
+                return MovementCheck.distance(Math.max(baseDistance, epsilon));
+            case BLOCK:
+                return MovementCheck.blocks();
+            default:
+                return MovementCheck.any(baseDistance, baseRotation);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.king.sgrlgl.game;
+
+/**
+ * One entry of a match timeline
+ * 
+ * @param tick Ticks since the match started
+ * @param light Light state that began
+ * @param durationTicks Rolled duration of the phase in ticks
+ * @author King
+ */
+public record PhaseSwitch(long tick, LightState light, int durationTicks) {
+
+    @Override
+    public String toString() {
+        return light + "@" + tick + "+" + durationTicks;
+    }
+}
@@ -0,0 +1,87 @@
+package com.king.sgrlgl.game;
+
+import java.util.UUID;
+
+/**
+ * Per-player state cached for the movement hot path: the arena the player
+ * is currently in and their role flags. The arena thread and role changes
+ * publish a new immutable {@link State}, so move events on any thread read
+ * one consistent view per event.
+ *
+ * @author King
+ */
+public class PlayerSession {
+
+    private static final State EMPTY = new State(null, false, false, false, false);
+
+    private final UUID playerId;
+    private volatile State state = EMPTY;
+
+    public PlayerSession(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Bind this session to an arena
+     * @param arena Arena the player is in
+     * @param spectator True if the player only watches the arena
+     */
+    synchronized void bind(Arena arena, boolean spectator) {
+        State current = state;
+        state = new State(arena, spectator, current.admin(), current.guest(), current.winner());
+    }
+
+    /**
+     * Refresh the cached role flags
+     */
+    public synchronized void updateRoles(boolean admin, boolean guest, boolean winner) {
+        State current = state;
+        state = new State(current.arena(), current.spectator(), admin, guest, winner);
+    }
+
+    /**
+     * Check if the player is an active (non-spectating) participant
+     * @return True if bound to an arena as a player
+     */
+    public boolean isPlaying() {
+        return state.isPlaying();
+    }
+
+    // Getters
+    public UUID getPlayerId() { return playerId; }
+    public State getState() { return state; }
+    public Arena getArena() { return state.arena(); }
+    public boolean isSpectator() { return state.spectator(); }
+    public boolean isAdmin() { return state.admin(); }
+    public boolean isGuest() { return state.guest(); }
+    public boolean isWinner() { return state.winner(); }
+    public boolean isImmune() { return state.isImmune(); }
+
+    /**
+     * Immutable view of a session
+     *
+     * @param arena Arena the player is in, null outside any arena
+     * @param spectator True if the player only watches the arena
+     * @param admin Cached admin role
+     * @param guest Cached guest role
+     * @param winner Cached winner role
+     */
+    public record State(Arena arena, boolean spectator, boolean admin, boolean guest, boolean winner) {
+
+        /**
+         * Check if the player is an active (non-spectating) participant
+         * @return True if bound to an arena as a player
+         */
+        public boolean isPlaying() {
+            return arena != null && !spectator;
+        }
+
+        /**
+         * Check if red light movement is ignored for the player
+         * @return True for admins, guests and winners
+         */
+        public boolean isImmune() {
+            return admin || guest || winner;
+        }
+    }
+}
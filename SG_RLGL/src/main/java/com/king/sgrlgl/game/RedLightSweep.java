@@ -0,0 +1,118 @@
+package com.king.sgrlgl.game;
+
+import com.king.sgrlgl.managers.RlglSettings;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Poll based red light detection. When the light turns red the positions
+ * and rotations of all players are copied into primitive arrays; every
+ * tick after that one pass compares them with the current positions. The
+ * cost is fixed per player and tick, independent of how many move events
+ * the server fires, and nothing at all is done while the light is green.
+ * 
+ * @author King
+ */
+class RedLightSweep {
+
+    /**
+     * Receives the players a sweep caught, with the position they held
+     */
+    interface Mover {
+        void moved(Player player, double x, double y, double z, float yaw, float pitch, Location to);
+    }
+
+    private Player[] players = new Player[0];
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] z = new double[0];
+    private float[] yaw = new float[0];
+    private float[] pitch = new float[0];
+    // Until then a player's position is followed instead of checked
+    private long[] graceUntil = new long[0];
+    private int size;
+    private boolean active;
+
+    // Reused for every position read, so a sweep does not allocate
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Record the positions the players must hold
+     * @param candidates Players to watch, immune players already left out
+     * @param switchNanos {@link System#nanoTime()} of the switch to red light
+     * @param settings Settings with the grace window
+     */
+    void capture(Collection<Player> candidates, long switchNanos, RlglSettings settings) {
+        ensureCapacity(candidates.size());
+        size = 0;
+        for (Player player : candidates) {
+            players[size] = player;
+            graceUntil[size] = switchNanos + settings.graceNanos(player.getPing());
+            record(size, player.getLocation(scratch));
+            size++;
+        }
+        active = true;
+    }
+
+    private void record(int i, Location location) {
+        x[i] = location.getX();
+        y[i] = location.getY();
+        z[i] = location.getZ();
+        yaw[i] = location.getYaw();
+        pitch[i] = location.getPitch();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (players.length >= capacity) return;
+        int length = Math.max(capacity, players.length * 2);
+        players = Arrays.copyOf(players, length);
+        x = Arrays.copyOf(x, length);
+        y = Arrays.copyOf(y, length);
+        z = Arrays.copyOf(z, length);
+        yaw = Arrays.copyOf(yaw, length);
+        pitch = Arrays.copyOf(pitch, length);
+        graceUntil = Arrays.copyOf(graceUntil, length);
+    }
+
+    /**
+     * Compare the current positions with the recorded ones. Players who
+     * moved are reported once and not checked again. Within a player's
+     * grace window the recorded position follows the player, so moves made
+     * before they could see the red light are forgiven.
+     * @param check Compiled movement check of the arena
+     * @param moved Called for every player who moved too far, the location
+     *              is only valid during the call
+     */
+    void sweep(MovementCheck check, Mover moved) {
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            Player player = players[i];
+            if (player == null) continue;
+
+            Location location = player.getLocation(scratch);
+            if (now - graceUntil[i] < 0) {
+                record(i, location);
+                continue;
+            }
+            if (check.moved(x[i], y[i], z[i], yaw[i], pitch[i], location)) {
+                players[i] = null;
+                moved.moved(player, x[i], y[i], z[i], yaw[i], pitch[i], location);
+            }
+        }
+    }
+
+    /**
+     * Stop sweeping and drop the player handles
+     */
+    void clear() {
+        Arrays.fill(players, 0, size, null);
+        size = 0;
+        active = false;
+    }
+
+    boolean isActive() { return active; }
+    int size() { return size; }
+}
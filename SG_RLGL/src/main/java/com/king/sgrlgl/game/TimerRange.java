@@ -0,0 +1,27 @@
+package com.king.sgrlgl.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Inclusive range of phase durations in seconds
+ * 
+ * @author King
+ */
+public record TimerRange(int min, int max) {
+
+    public static final int TICKS_PER_SECOND = 20;
+
+    public TimerRange {
+        min = Math.max(1, min);
+        max = Math.max(min, max);
+    }
+
+    /**
+     * Pick a random duration within the range at tick resolution
+     * @param random Random source
+     * @return Duration in ticks
+     */
+    public int rollTicks(SplittableRandom random) {
+        return random.nextInt(min * TICKS_PER_SECOND, max * TICKS_PER_SECOND + 1);
+    }
+}
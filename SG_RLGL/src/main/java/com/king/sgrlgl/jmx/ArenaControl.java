@@ -0,0 +1,99 @@
+package com.king.sgrlgl.jmx;
+
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.ArenaTicker;
+import com.king.sgrlgl.game.EffectToggles;
+import com.king.sgrlgl.game.LightState;
+import com.king.sgrlgl.game.TimerRange;
+import com.king.sgrlgl.managers.GameManager;
+
+/**
+ * {@link ArenaMXBean} backed by a live arena. Attributes are read straight
+ * from the arena; changes run on the thread ticking the arena, between
+ * ticks, so a match never sees half of an update.
+ * 
+ * @author King
+ */
+final class ArenaControl implements ArenaMXBean {
+
+    private final Arena arena;
+    private final GameManager gameManager;
+    private final JmxRegistrar registrar;
+
+    ArenaControl(Arena arena, GameManager gameManager, JmxRegistrar registrar) {
+        this.arena = arena;
+        this.gameManager = gameManager;
+        this.registrar = registrar;
+    }
+
+    @Override
+    public void setSoundsEnabled(boolean enabled) {
+        registrar.callSync(arena, () -> arena.setEffects(arena.getEffects().withSounds(enabled)));
+    }
+
+    @Override
+    public void setActionBarEnabled(boolean enabled) {
+        registrar.callSync(arena, () -> arena.setEffects(arena.getEffects().withActionBar(enabled)));
+    }
+
+    @Override
+    public void setBossBarEnabled(boolean enabled) {
+        registrar.callSync(arena, () -> arena.setEffects(arena.getEffects().withBossBar(enabled)));
+    }
+
+    @Override
+    public void resetEffects() {
+        registrar.callSync(arena, () -> arena.setEffects(null));
+    }
+
+    @Override
+    public void setTimers(String light, int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Timer range must satisfy 1 <= min <= max");
+        }
+        updateTimer(parseLight(light), new TimerRange(min, max));
+    }
+
+    @Override
+    public void resetTimers(String light) {
+        updateTimer(parseLight(light), null);
+    }
+
+    private void updateTimer(LightState light, TimerRange range) {
+        registrar.callSync(arena, () -> gameManager.updateDefinition(arena.getDefinition().withTimer(light, range)));
+    }
+
+    private static LightState parseLight(String light) {
+        if ("red".equalsIgnoreCase(light)) return LightState.RED;
+        if ("green".equalsIgnoreCase(light)) return LightState.GREEN;
+        throw new IllegalArgumentException("Unknown light: " + light + " (expected red or green)");
+    }
+
+    private ArenaTicker.Timing timing() {
+        return gameManager.getTicker().getTiming(arena);
+    }
+
+    // Attributes
+    @Override public String getName() { return arena.getName(); }
+    @Override public String getState() { return arena.getState().name(); }
+    @Override public String getLightState() { return arena.getLightState().name(); }
+    @Override public int getPlayerCount() { return arena.getPlayerCount(); }
+    @Override public int getSpectatorCount() { return arena.getSpectatorCount(); }
+    @Override public int getSecondsRemaining() { return arena.getTimeRemaining(); }
+    @Override public int getPhaseDurationTicks() { return arena.getPhaseDurationTicks(); }
+    @Override public int getPhaseCount() { return arena.getPhaseCount(); }
+    @Override public long getSeed() { return arena.getSeed(); }
+    @Override public int getLoadedChunks() { return arena.getLoadedChunkCount(); }
+    @Override public long getEliminations() { return arena.getEliminationCount(); }
+    @Override public long getFinishes() { return arena.getFinishCount(); }
+    @Override public long getTickCount() { ArenaTicker.Timing t = timing(); return t == null ? 0L : t.getCount(); }
+    @Override public double getAverageTickMicros() { ArenaTicker.Timing t = timing(); return t == null ? 0.0 : t.getAverageNanos() / 1_000.0; }
+    @Override public double getMaxTickMicros() { ArenaTicker.Timing t = timing(); return t == null ? 0.0 : t.getMaxNanos() / 1_000.0; }
+    @Override public int getRedLightMin() { return arena.getTimer(LightState.RED).min(); }
+    @Override public int getRedLightMax() { return arena.getTimer(LightState.RED).max(); }
+    @Override public int getGreenLightMin() { return arena.getTimer(LightState.GREEN).min(); }
+    @Override public int getGreenLightMax() { return arena.getTimer(LightState.GREEN).max(); }
+    @Override public boolean isSoundsEnabled() { return arena.getEffects().sounds(); }
+    @Override public boolean isActionBarEnabled() { return arena.getEffects().actionBar(); }
+    @Override public boolean isBossBarEnabled() { return arena.getEffects().bossBar(); }
+}
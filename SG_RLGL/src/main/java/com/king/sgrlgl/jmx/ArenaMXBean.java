@@ -0,0 +1,88 @@
+package com.king.sgrlgl.jmx;
+
+/**
+ * Management view of one arena, registered as
+ * {@code com.king.sgrlgl:type=Arena,name=<arena>}.
+ * 
+ * @author King
+ */
+public interface ArenaMXBean {
+
+    String getName();
+
+    /**
+     * @return WAITING, STARTING or ACTIVE
+     */
+    String getState();
+
+    /**
+     * @return GREEN or RED
+     */
+    String getLightState();
+
+    int getPlayerCount();
+
+    int getSpectatorCount();
+
+    int getSecondsRemaining();
+
+    int getPhaseDurationTicks();
+
+    /**
+     * @return Light phases of the current or last match
+     */
+    int getPhaseCount();
+
+    long getSeed();
+
+    int getLoadedChunks();
+
+    long getEliminations();
+
+    long getFinishes();
+
+    long getTickCount();
+
+    double getAverageTickMicros();
+
+    double getMaxTickMicros();
+
+    int getRedLightMin();
+
+    int getRedLightMax();
+
+    int getGreenLightMin();
+
+    int getGreenLightMax();
+
+    boolean isSoundsEnabled();
+
+    void setSoundsEnabled(boolean enabled);
+
+    boolean isActionBarEnabled();
+
+    void setActionBarEnabled(boolean enabled);
+
+    boolean isBossBarEnabled();
+
+    void setBossBarEnabled(boolean enabled);
+
+    /**
+     * Override the timer of a light phase, used from the next phase on
+     * @param light "red" or "green"
+     * @param min Minimum seconds
+     * @param max Maximum seconds
+     */
+    void setTimers(String light, int min, int max);
+
+    /**
+     * Go back to the timer from config.yml
+     * @param light "red" or "green"
+     */
+    void resetTimers(String light);
+
+    /**
+     * Go back to the effect toggles from config.yml
+     */
+    void resetEffects();
+}
@@ -0,0 +1,49 @@
+package com.king.sgrlgl.jmx;
+
+import com.king.sgrlgl.managers.GameManager;
+import com.king.sgrlgl.metrics.PluginMetrics;
+
+/**
+ * {@link GameManagerMXBean} backed by the plugin's game manager and metrics
+ * 
+ * @author King
+ */
+final class GameManagerControl implements GameManagerMXBean {
+
+    private final GameManager gameManager;
+    private final PluginMetrics metrics;
+    private final JmxRegistrar registrar;
+
+    GameManagerControl(GameManager gameManager, JmxRegistrar registrar) {
+        this.gameManager = gameManager;
+        this.metrics = gameManager.getMetrics();
+        this.registrar = registrar;
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        metrics.setEnabled(enabled);
+    }
+
+    @Override
+    public void stopAllGames() {
+        registrar.callSync(null, gameManager::stopAllGames);
+    }
+
+    // Attributes
+    @Override public int getArenasDefined() { return gameManager.getArenaDefinitions().size(); }
+    @Override public int getArenasLoaded() { return gameManager.getArenas().size(); }
+    @Override public int getSessions() { return gameManager.getSessionCount(); }
+    @Override public long getMoveEvents() { return metrics.getMoveHandling().getCount(); }
+    @Override public double getMoveP99Micros() { return metrics.getMoveHandling().valueAtQuantile(0.99) / 1_000.0; }
+    @Override public double getMoveMaxMicros() { return metrics.getMoveHandling().getMax() / 1_000.0; }
+    @Override public long getEliminations() { return metrics.getEliminations().getCount(); }
+    @Override public long getFinishes() { return metrics.getFinishes().getCount(); }
+    @Override public long getPhaseSwitches() { return metrics.getPhaseSwitches().get(); }
+    @Override public long getMatches() { return metrics.getMatches().get(); }
+    @Override public int getRewardQueueDepth() { return gameManager.getRewards().getQueueDepth(); }
+    @Override public int getTeleportsQueued() { return gameManager.getTeleports().getQueuedPlayers(); }
+    @Override public int getPendingWrites() { return gameManager.getPersistence().getPendingWrites(); }
+    @Override public int getChunkTickets() { return gameManager.getChunkTickets().size(); }
+    @Override public boolean isMetricsEnabled() { return metrics.isEnabled(); }
+}
@@ -0,0 +1,47 @@
+package com.king.sgrlgl.jmx;
+
+/**
+ * Management view of the whole plugin, registered as
+ * {@code com.king.sgrlgl:type=GameManager}.
+ * 
+ * @author King
+ */
+public interface GameManagerMXBean {
+
+    int getArenasDefined();
+
+    int getArenasLoaded();
+
+    int getSessions();
+
+    long getMoveEvents();
+
+    double getMoveP99Micros();
+
+    double getMoveMaxMicros();
+
+    long getEliminations();
+
+    long getFinishes();
+
+    long getPhaseSwitches();
+
+    long getMatches();
+
+    int getRewardQueueDepth();
+
+    int getTeleportsQueued();
+
+    int getPendingWrites();
+
+    int getChunkTickets();
+
+    boolean isMetricsEnabled();
+
+    void setMetricsEnabled(boolean enabled);
+
+    /**
+     * Stop every running match
+     */
+    void stopAllGames();
+}
@@ -0,0 +1,162 @@
+package com.king.sgrlgl.jmx;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.managers.GameManager;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Registers the game manager and every loaded arena with the platform
+ * MBean server, so they can be inspected and tuned from JConsole or any
+ * JMX bridge.
+ * 
+ * @author King
+ */
+public class JmxRegistrar {
+
+    public static final String DOMAIN = "com.king.sgrlgl";
+    private static final long SYNC_TIMEOUT_SECONDS = 10L;
+
+    private final Main plugin;
+    private final GameManager gameManager;
+    private final Map<String, ObjectName> arenaNames = new HashMap<>();
+    private MBeanServer server;
+    private ObjectName managerName;
+
+    public JmxRegistrar(Main plugin, GameManager gameManager) {
+        this.plugin = plugin;
+        this.gameManager = gameManager;
+    }
+
+    /**
+     * Register the game manager and all loaded arenas, if not done yet
+     */
+    public synchronized void start() {
+        if (server != null) return;
+        
+        server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            managerName = new ObjectName(DOMAIN + ":type=GameManager");
+            register(new GameManagerControl(gameManager, this), managerName);
+        } catch (JMException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not register the JMX beans", e);
+        }
+        for (Arena arena : gameManager.getArenas()) {
+            register(arena);
+        }
+    }
+
+    /**
+     * Register an arena, does nothing while JMX is disabled
+     * @param arena Arena to expose
+     */
+    public synchronized void register(Arena arena) {
+        if (server == null || arenaNames.containsKey(arena.getKey())) return;
+        
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Arena,name=" + ObjectName.quote(arena.getKey()));
+            register(new ArenaControl(arena, gameManager, this), name);
+            arenaNames.put(arena.getKey(), name);
+        } catch (JMException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not register arena " + arena.getName() + " with JMX", e);
+        }
+    }
+
+    private void register(Object bean, ObjectName name) throws JMException {
+        try {
+            server.registerMBean(bean, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // Left behind by an earlier instance of the plugin, e.g. after a reload
+            server.unregisterMBean(name);
+            server.registerMBean(bean, name);
+        }
+    }
+
+    /**
+     * Unregister a deleted arena
+     * @param key Arena key
+     */
+    public synchronized void unregister(String key) {
+        ObjectName name = arenaNames.remove(key);
+        if (name != null) {
+            unregister(name);
+        }
+    }
+
+    private void unregister(ObjectName name) {
+        try {
+            server.unregisterMBean(name);
+        } catch (InstanceNotFoundException e) {
+            // Already gone
+        } catch (JMException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not unregister " + name, e);
+        }
+    }
+
+    /**
+     * Unregister every bean
+     */
+    public synchronized void stop() {
+        if (server == null) return;
+        
+        for (ObjectName name : arenaNames.values()) {
+            unregister(name);
+        }
+        arenaNames.clear();
+        if (managerName != null) {
+            unregister(managerName);
+            managerName = null;
+        }
+        server = null;
+    }
+
+    /**
+     * Run a change on the thread that ticks an arena and wait for it, so it
+     * is applied between ticks rather than halfway through one
+     * @param arena Arena the change applies to, null for plugin wide changes
+     * @param action Change to apply
+     */
+    void callSync(Arena arena, Runnable action) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                action.run();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
+        if (arena != null) {
+            gameManager.getTicker().execute(arena, task);
+        } else {
+            plugin.getPluginScheduler().execute(task);
+        }
+        
+        try {
+            future.get(SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the server thread");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException("The server thread did not respond within " + SYNC_TIMEOUT_SECONDS + " seconds");
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.king.sgrlgl.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary journal of one arena, for settling disputes after a match. Records
+ * are written straight into a memory mapped segment file, so an event costs
+ * a few buffer writes and no system call; the operating system writes the
+ * pages back, and they survive a crash of the server process. A full
+ * segment is replaced by a new one and the oldest segments are deleted.
+ * Read the files with {@link JournalReader}.
+ * 
+ * @author King
+ */
+public final class ArenaJournal {
+
+    private final Path directory;
+    private final String arena;
+    // Read per record, so config reloads apply right away
+    private final Supplier<JournalSettings> settings;
+    private final Logger logger;
+
+    // Guarded by this, events come from the arena's thread and commands
+    private MappedByteBuffer buffer;
+    private long sequence = -1L;
+    private boolean failed;
+    private boolean closed;
+
+    public ArenaJournal(Path directory, String arena, Supplier<JournalSettings> settings, Logger logger) {
+        this.directory = directory;
+        this.arena = arena;
+        this.settings = settings;
+        this.logger = logger;
+    }
+
+    public synchronized void matchStart(long seed, int players) {
+        int start = begin(JournalEventType.MATCH_START);
+        if (start < 0) return;
+        buffer.putLong(seed).putInt(players);
+        commit(start, JournalEventType.MATCH_START);
+    }
+
+    public synchronized void phase(boolean red, int durationTicks, long matchTick) {
+        int start = begin(JournalEventType.PHASE);
+        if (start < 0) return;
+        buffer.put(red ? (byte) 1 : (byte) 0).putInt(durationTicks).putLong(matchTick);
+        commit(start, JournalEventType.PHASE);
+    }
+
+    /**
+     * Record an elimination with the positions that caused it
+     * @param player Eliminated player
+     * @param x Held x
+     * @param y Held y
+     * @param z Held z
+     * @param yaw Held yaw
+     * @param pitch Held pitch
+     * @param toX Moved to x
+     * @param toY Moved to y
+     * @param toZ Moved to z
+     * @param toYaw Moved to yaw
+     * @param toPitch Moved to pitch
+     * @param ping Player's ping in milliseconds
+     * @param sinceSwitchNanos Time since the light turned red
+     */
+    public synchronized void elimination(UUID player, double x, double y, double z, float yaw, float pitch,
+                                         double toX, double toY, double toZ, float toYaw, float toPitch,
+                                         int ping, long sinceSwitchNanos) {
+        int start = begin(JournalEventType.ELIMINATION);
+        if (start < 0) return;
+        putPlayer(player);
+        buffer.putDouble(x).putDouble(y).putDouble(z).putFloat(yaw).putFloat(pitch);
+        buffer.putDouble(toX).putDouble(toY).putDouble(toZ).putFloat(toYaw).putFloat(toPitch);
+        buffer.putInt(ping).putLong(sinceSwitchNanos);
+        commit(start, JournalEventType.ELIMINATION);
+    }
+
+    public synchronized void finish(UUID player, long elapsedMillis, int position) {
+        int start = begin(JournalEventType.FINISH);
+        if (start < 0) return;
+        putPlayer(player);
+        buffer.putLong(elapsedMillis).putInt(position);
+        commit(start, JournalEventType.FINISH);
+    }
+
+    public synchronized void join(UUID player) {
+        int start = begin(JournalEventType.JOIN);
+        if (start < 0) return;
+        putPlayer(player);
+        commit(start, JournalEventType.JOIN);
+    }
+
+    public synchronized void leave(UUID player) {
+        int start = begin(JournalEventType.LEAVE);
+        if (start < 0) return;
+        putPlayer(player);
+        commit(start, JournalEventType.LEAVE);
+    }
+
+    public synchronized void matchEnd(int phases, int eliminations, int winners) {
+        int start = begin(JournalEventType.MATCH_END);
+        if (start < 0) return;
+        buffer.putInt(phases).putInt(eliminations).putInt(winners);
+        commit(start, JournalEventType.MATCH_END);
+    }
+
+    private void putPlayer(UUID player) {
+        buffer.putLong(player.getMostSignificantBits()).putLong(player.getLeastSignificantBits());
+    }
+
+    /**
+     * Reserve a record and write its header, the kind byte is left zero
+     * @return Offset of the record, or -1 if the journal is off
+     */
+    private int begin(JournalEventType type) {
+        if (failed || closed) return -1;
+        JournalSettings current = settings.get();
+        if (!current.enabled()) return -1;
+
+        int length = JournalFormat.RECORD_HEADER + type.payloadLength();
+        if (buffer == null || buffer.remaining() < length) {
+            if (!rotate(current)) return -1;
+        }
+        int start = buffer.position();
+        buffer.position(start + 1);
+        buffer.putShort((short) type.payloadLength());
+        buffer.putLong(System.currentTimeMillis());
+        return start;
+    }
+
+    /**
+     * Set the kind byte last, so a record cut short by a crash reads as
+     * the end of the segment
+     */
+    private void commit(int start, JournalEventType type) {
+        buffer.put(start, type.code());
+    }
+
+    /**
+     * Map a new segment and delete the oldest ones beyond the limit
+     * @return False if the journal could not be written and was turned off
+     */
+    private boolean rotate(JournalSettings settings) {
+        buffer = null;
+        try {
+            Files.createDirectories(directory);
+            if (sequence < 0) {
+                sequence = lastSequence() + 1;
+            }
+            long now = System.currentTimeMillis();
+            Path file = directory.resolve(String.format("%010d-%d%s", sequence++, now, JournalFormat.EXTENSION));
+            // The mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, settings.segmentBytes());
+            }
+
+            byte[] key = arena.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(JournalFormat.MAGIC).putShort(JournalFormat.VERSION).putLong(now);
+            buffer.putShort((short) key.length).put(key);
+            prune(settings.maxSegments());
+            return true;
+        } catch (IOException e) {
+            failed = true;
+            buffer = null;
+            logger.log(Level.SEVERE, "Could not write the journal of arena " + arena + ", it is turned off", e);
+            return false;
+        }
+    }
+
+    private long lastSequence() throws IOException {
+        long last = -1L;
+        for (Path segment : segments()) {
+            String name = segment.getFileName().toString();
+            int dash = name.indexOf('-');
+            try {
+                last = Math.max(last, Long.parseLong(name.substring(0, dash)));
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                // Not a segment name
+            }
+        }
+        return last;
+    }
+
+    private void prune(int maxSegments) throws IOException {
+        List<Path> segments = segments();
+        Collections.sort(segments);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + JournalFormat.EXTENSION)) {
+            for (Path file : files) {
+                segments.add(file);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Write the current segment back to disk and stop using it. Records
+     * arriving later are dropped rather than opening a new segment.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (buffer == null) return;
+
+        buffer.force();
+        buffer = null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.king.sgrlgl.journal;
+
+/**
+ * Kinds of journal records. Every kind has a fixed payload, so a record
+ * never needs more than one bounds check when it is written.
+ * 
+ * @author King
+ */
+public enum JournalEventType {
+    /** Seed (long), players (int) */
+    MATCH_START(1, 8 + 4),
+    /** Light (byte, 0 green, 1 red), duration in ticks (int), match tick (long) */
+    PHASE(2, 1 + 4 + 8),
+    /** Player (2 longs), from and to (3 doubles, 2 floats each), ping in ms (int), nanoseconds since the light switched (long) */
+    ELIMINATION(3, 16 + 32 + 32 + 4 + 8),
+    /** Player (2 longs), milliseconds since the match began (long), finishing position (int) */
+    FINISH(4, 16 + 8 + 4),
+    /** Player (2 longs) */
+    JOIN(5, 16),
+    /** Player (2 longs) */
+    LEAVE(6, 16),
+    /** Phases (int), eliminations (int), winners (int) */
+    MATCH_END(7, 4 + 4 + 4);
+
+    private static final JournalEventType[] BY_CODE = new JournalEventType[8];
+
+    static {
+        for (JournalEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final int payloadLength;
+
+    JournalEventType(int code, int payloadLength) {
+        this.code = (byte) code;
+        this.payloadLength = payloadLength;
+    }
+
+    /**
+     * Look up a record kind
+     * @param code Code stored in the journal
+     * @return Matching kind or null if unknown
+     */
+    public static JournalEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * Parse a kind name, ignoring case
+     * @param name Kind name
+     * @return Matching kind or null if unknown
+     */
+    public static JournalEventType fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public byte code() { return code; }
+    public int payloadLength() { return payloadLength; }
+}
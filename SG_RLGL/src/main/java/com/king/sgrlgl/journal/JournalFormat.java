@@ -0,0 +1,25 @@
+package com.king.sgrlgl.journal;
+
+/**
+ * Layout of journal segments, shared by the writer and the offline reader.
+ * <p>
+ * A segment starts with the magic number (int), the format version
+ * (short), its creation time in milliseconds (long) and the arena key
+ * (unsigned short length and UTF-8 bytes). Records follow: kind (byte),
+ * payload length (unsigned short), wall clock time in milliseconds (long)
+ * and the payload. Segments are preallocated, so the first zero kind byte
+ * marks the end of the data.
+ * 
+ * @author King
+ */
+public final class JournalFormat {
+
+    public static final int MAGIC = 0x524C474A; // "RLGJ"
+    public static final short VERSION = 1;
+    public static final String EXTENSION = ".rlj";
+    /** Kind, payload length and time */
+    public static final int RECORD_HEADER = 1 + 2 + 8;
+
+    private JournalFormat() {
+    }
+}
@@ -0,0 +1,239 @@
+package com.king.sgrlgl.journal;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Offline dump of arena journals. Only uses the JDK, so it runs from the
+ * plugin jar without a server, and can read journals while they are written.
+ * <p>
+ * Usage: {@code java -jar SG_RLGL.jar <journal folder> [--arena name]
+ * [--from time] [--to time] [--player uuid] [--type ELIMINATION,FINISH]}.
+ * Times are epoch milliseconds, ISO instants or local date-times such as
+ * {@code 2026-10-18T20:15}.
+ * 
+ * @author King
+ */
+public final class JournalReader {
+
+    private static final Set<String> OPTIONS = Set.of("--arena", "--from", "--to", "--player", "--type");
+
+    private final PrintStream out;
+    private String arena;
+    private long from = Long.MIN_VALUE;
+    private long to = Long.MAX_VALUE;
+    private UUID player;
+    private Set<JournalEventType> types = EnumSet.allOf(JournalEventType.class);
+    private long printed;
+
+    public JournalReader(PrintStream out) {
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        JournalReader reader;
+        try {
+            if (args.length == 0 || args[0].startsWith("--")) {
+                throw new IllegalArgumentException("Missing the journal folder");
+            }
+            reader = fromOptions(args, System.out);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java -jar SG_RLGL.jar <journal folder> [--arena name] [--from time] "
+                    + "[--to time] [--player uuid] [--type kind,...]");
+            System.exit(2);
+            return;
+        }
+
+        reader.dump(Paths.get(args[0]));
+        System.err.println(reader.printed + " event(s)");
+    }
+
+    /**
+     * Build a reader from the options following the journal folder
+     * @param args Command line, the folder first
+     * @param out Stream the events are printed to
+     * @return Reader with the filters applied
+     * @throws IllegalArgumentException If an option is unknown, has no value or a bad value
+     * @throws DateTimeException If a time cannot be parsed
+     */
+    static JournalReader fromOptions(String[] args, PrintStream out) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (!OPTIONS.contains(args[i])) {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        JournalReader reader = new JournalReader(out);
+        reader.arena = options.containsKey("arena") ? options.get("arena").toLowerCase(Locale.ROOT) : null;
+        if (options.containsKey("from")) reader.from = parseTime(options.get("from"));
+        if (options.containsKey("to")) reader.to = parseTime(options.get("to"));
+        if (options.containsKey("player")) reader.player = UUID.fromString(options.get("player"));
+        if (options.containsKey("type")) {
+            reader.types = EnumSet.noneOf(JournalEventType.class);
+            for (String name : options.get("type").split(",")) {
+                JournalEventType type = JournalEventType.fromName(name);
+                if (type == null) throw new IllegalArgumentException("Unknown event type " + name);
+                reader.types.add(type);
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * Parse a time option
+     * @param value Epoch milliseconds, ISO instant or local date-time
+     * @return Epoch milliseconds
+     */
+    static long parseTime(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // Not a number, try the date formats
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * Print the matching events of every arena, or of the selected one
+     * @param root Journal folder holding one folder per arena
+     * @throws IOException If a segment could not be read
+     */
+    public void dump(Path root) throws IOException {
+        List<Path> arenas = new ArrayList<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                if (arena == null || dir.getFileName().toString().equals(arena)) {
+                    arenas.add(dir);
+                }
+            }
+        }
+        Collections.sort(arenas);
+
+        for (Path dir : arenas) {
+            List<Path> segments = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + JournalFormat.EXTENSION)) {
+                for (Path file : files) {
+                    segments.add(file);
+                }
+            }
+            // Names start with a zero padded sequence number
+            Collections.sort(segments);
+            for (Path segment : segments) {
+                readSegment(segment);
+            }
+        }
+    }
+
+    private void readSegment(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < 16 || in.getInt() != JournalFormat.MAGIC) {
+            System.err.println("Skipping " + file + ", not a journal segment");
+            return;
+        }
+        short version = in.getShort();
+        if (version != JournalFormat.VERSION) {
+            System.err.println("Skipping " + file + ", unsupported version " + version);
+            return;
+        }
+        long created = in.getLong();
+        byte[] key = new byte[in.getShort() & 0xFFFF];
+        in.get(key);
+        String segmentArena = new String(key, StandardCharsets.UTF_8);
+        // Every record in the segment is newer than the segment
+        if (created > to) return;
+
+        while (in.remaining() >= JournalFormat.RECORD_HEADER) {
+            int code = in.get();
+            if (code == 0) break;
+            int length = in.getShort() & 0xFFFF;
+            long time = in.getLong();
+            if (in.remaining() < length) break;
+
+            ByteBuffer payload = in.slice();
+            payload.limit(length);
+            in.position(in.position() + length);
+
+            JournalEventType type = JournalEventType.fromCode(code);
+            // Kinds added by newer versions are skipped
+            if (type == null || !types.contains(type) || time < from || time > to) continue;
+            if (player != null && !player.equals(playerOf(type, payload))) continue;
+
+            out.println(Instant.ofEpochMilli(time) + " " + segmentArena + " " + describe(type, payload));
+            printed++;
+        }
+    }
+
+    private static UUID playerOf(JournalEventType type, ByteBuffer payload) {
+        switch (type) {
+            case ELIMINATION:
+            case FINISH:
+            case JOIN:
+            case LEAVE:
+                return new UUID(payload.getLong(0), payload.getLong(8));
+            default:
+                return null;
+        }
+    }
+
+    private static String describe(JournalEventType type, ByteBuffer in) {
+        switch (type) {
+            case MATCH_START:
+                return "MATCH_START seed=" + in.getLong() + " players=" + in.getInt();
+            case PHASE:
+                return "PHASE " + (in.get() == 1 ? "RED" : "GREEN") + " duration=" + in.getInt()
+                        + " ticks at-tick=" + in.getLong();
+            case ELIMINATION:
+                return "ELIMINATION player=" + new UUID(in.getLong(), in.getLong())
+                        + " held=" + position(in) + " moved-to=" + position(in)
+                        + " ping=" + in.getInt() + "ms since-red="
+                        + String.format(Locale.ROOT, "%.1fms", in.getLong() / 1_000_000.0);
+            case FINISH:
+                return "FINISH player=" + new UUID(in.getLong(), in.getLong())
+                        + " after=" + String.format(Locale.ROOT, "%.1fs", in.getLong() / 1000.0)
+                        + " position=" + in.getInt();
+            case JOIN:
+                return "JOIN player=" + new UUID(in.getLong(), in.getLong());
+            case LEAVE:
+                return "LEAVE player=" + new UUID(in.getLong(), in.getLong());
+            case MATCH_END:
+                return "MATCH_END phases=" + in.getInt() + " eliminations=" + in.getInt() + " winners=" + in.getInt();
+            default:
+                return type.name();
+        }
+    }
+
+    private static String position(ByteBuffer in) {
+        return String.format(Locale.ROOT, "(%.3f, %.3f, %.3f, yaw %.1f, pitch %.1f)",
+                in.getDouble(), in.getDouble(), in.getDouble(), in.getFloat(), in.getFloat());
+    }
+}
@@ -0,0 +1,12 @@
+package com.king.sgrlgl.journal;
+
+/**
+ * Journal options from config.yml
+ * 
+ * @param enabled True to write journals
+ * @param segmentBytes Size of one segment file
+ * @param maxSegments Segments kept per arena, older ones are deleted
+ * @author King
+ */
+public record JournalSettings(boolean enabled, int segmentBytes, int maxSegments) {
+}
@@ -0,0 +1,47 @@
+package com.king.sgrlgl.listeners;
+
+import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.PlayerSession;
+import com.king.sgrlgl.managers.GameManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps arena audiences in sync with players joining and leaving the server
+ * 
+ * @author King
+ */
+public class ConnectionListener implements Listener {
+
+    private final GameManager gameManager;
+
+    public ConnectionListener(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        PlayerSession session = gameManager.getSession(player.getUniqueId());
+        Arena arena = session != null ? session.getArena() : null;
+        if (arena != null) {
+            gameManager.getTicker().execute(arena, () -> arena.handleJoin(player));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        // Half finished region selections would otherwise stay forever
+        gameManager.getSelections().forget(player.getUniqueId());
+        PlayerSession session = gameManager.getSession(player.getUniqueId());
+        Arena arena = session != null ? session.getArena() : null;
+        if (arena != null) {
+            gameManager.getTicker().execute(arena, () -> arena.handleQuit(player));
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.king.sgrlgl.listeners;
 
 import com.king.sgrlgl.Main;
 import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.Cuboid;
 import com.king.sgrlgl.game.GameState;
+import com.king.sgrlgl.managers.ConfigManager;
 import com.king.sgrlgl.managers.GameManager;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
@@ -29,11 +32,13 @@ public class InteractListener implements Listener {
     
     private static final String HOE_NAME = ChatColor.GOLD + "SG Finish Setter";
     private static NamespacedKey HOE_KEY;
+    private static NamespacedKey HOE_ARENA_KEY;
     private static NamespacedKey DYE_KEY;
 
     public InteractListener(GameManager gameManager) {
         this.gameManager = gameManager;
         HOE_KEY = new NamespacedKey(Main.getInstance(), "sg_finish_hoe");
+        HOE_ARENA_KEY = new NamespacedKey(Main.getInstance(), "sg_finish_arena");
         DYE_KEY = new NamespacedKey(Main.getInstance(), "sg_admin_dye");
     }
 
@@ -42,11 +47,23 @@ public class InteractListener implements Listener {
      * @param player Player to give hoe to
      */
     public static void giveFinishHoe(Player player) {
+        giveFinishHoe(player, null);
+    }
+
+    /**
+     * Give a hoe that selects the finish region of one arena
+     * @param player Player to give hoe to
+     * @param arenaName Arena the region belongs to, null for the global finish
+     */
+    public static void giveFinishHoe(Player player, String arenaName) {
         ItemStack item = new ItemStack(Material.NETHERITE_HOE, 1);
         ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(HOE_NAME);
+        meta.setDisplayName(arenaName == null ? HOE_NAME : HOE_NAME + ChatColor.GRAY + " (" + arenaName + ")");
         meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
         meta.getPersistentDataContainer().set(HOE_KEY, PersistentDataType.BYTE, (byte) 1);
+        if (arenaName != null) {
+            meta.getPersistentDataContainer().set(HOE_ARENA_KEY, PersistentDataType.STRING, arenaName);
+        }
         item.setItemMeta(meta);
         player.getInventory().addItem(item);
     }
@@ -103,6 +120,12 @@ public class InteractListener implements Listener {
         if (item.getType() != Material.NETHERITE_HOE) return false;
         if (!item.getItemMeta().getPersistentDataContainer().has(HOE_KEY, PersistentDataType.BYTE)) return false;
 
+        String arenaName = item.getItemMeta().getPersistentDataContainer().get(HOE_ARENA_KEY, PersistentDataType.STRING);
+        if (arenaName != null) {
+            handleArenaFinishHoe(event, player, arenaName);
+            return true;
+        }
+
         if (event.getAction() == Action.RIGHT_CLICK_BLOCK && event.getClickedBlock() != null) {
             event.setCancelled(true);
             
@@ -122,6 +145,52 @@ public class InteractListener implements Listener {
         return true;
     }
 
+    /**
+     * Handle selection of an arena finish region: left-click sets the first
+     * corner, right-click the opposite corner and applies the region
+     */
+    private void handleArenaFinishHoe(PlayerInteractEvent event, Player player, String arenaName) {
+        if (event.getClickedBlock() == null) return;
+        event.setCancelled(true);
+
+        Location clicked = event.getClickedBlock().getLocation();
+        ConfigManager configManager = gameManager.getConfigManager();
+
+        if (event.getAction() == Action.LEFT_CLICK_BLOCK) {
+            gameManager.getSelections().setFinishCorner(player.getUniqueId(), clicked);
+            player.sendMessage(configManager.getMessage("finish-corner-set",
+                    "x", String.valueOf(clicked.getBlockX()),
+                    "y", String.valueOf(clicked.getBlockY()),
+                    "z", String.valueOf(clicked.getBlockZ())));
+            return;
+        }
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+
+        Arena arena = gameManager.getArena(arenaName);
+        if (arena == null) {
+            player.sendMessage(configManager.getMessage("arena-not-found", "arena", arenaName));
+            return;
+        }
+
+        // Without a first corner in the same world the region is the clicked block
+        Location first = gameManager.getSelections().takeFinishCorner(player.getUniqueId());
+        if (first == null || !clicked.getWorld().equals(first.getWorld())) {
+            first = clicked;
+        }
+
+        Cuboid region = Cuboid.ofBlocks(first, clicked);
+        arena.setFinishRegion(region);
+        player.sendMessage(configManager.getMessage("arena-finish-set",
+                "arena", arena.getName(),
+                "x1", String.valueOf((int) region.minX()),
+                "y1", String.valueOf((int) region.minY()),
+                "z1", String.valueOf((int) region.minZ()),
+                "x2", String.valueOf((int) region.maxX() - 1),
+                "y2", String.valueOf((int) region.maxY() - 1),
+                "z2", String.valueOf((int) region.maxZ() - 1),
+                "world", region.world()));
+    }
+
     /**
      * Handle admin dye interaction
      */
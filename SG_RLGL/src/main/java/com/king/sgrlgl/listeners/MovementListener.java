@@ -1,17 +1,20 @@
 package com.king.sgrlgl.listeners;
 
 import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.ArenaSnapshot;
+import com.king.sgrlgl.game.DetectionMode;
 import com.king.sgrlgl.game.GameState;
-import com.king.sgrlgl.game.LightState;
+import com.king.sgrlgl.game.MovementCheck;
+import com.king.sgrlgl.game.PlayerSession;
 import com.king.sgrlgl.managers.GameManager;
+import com.king.sgrlgl.managers.RlglSettings;
+import com.king.sgrlgl.metrics.PluginMetrics;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
 
-import java.util.UUID;
-
 /**
  * Handles player movement events for the game
  * 
@@ -27,73 +30,91 @@ public class MovementListener implements Listener {
 
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
+        PluginMetrics metrics = gameManager.getMetrics();
+        long start = metrics.start();
+        handleMove(event);
+        metrics.getMoveHandling().recordSince(start);
+    }
+
+    /**
+     * Handle a move event of any online player
+     */
+    private void handleMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null) return;
+
         Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
 
-        // Check finish line detection
-        handleFinishDetection(player, event.getTo());
+        // Players outside any arena are not part of the game
+        PlayerSession session = gameManager.getSession(player.getUniqueId());
+        if (session == null) return;
+        // Read once, the arena thread may rebind the session meanwhile
+        PlayerSession.State state = session.getState();
+        if (!state.isPlaying()) return;
+
+        // Turning the head alone cannot cross the finish line
+        boolean positionChanged = from.getX() != to.getX()
+                || from.getY() != to.getY()
+                || from.getZ() != to.getZ();
+
+        // Check finish line detection, a move that finishes is never eliminated
+        if (positionChanged && handleFinishDetection(player, state, from, to)) return;
 
         // Check red light movement
-        handleRedLightMovement(player, event);
+        handleRedLightMovement(player, state, event, positionChanged);
     }
 
     /**
      * Handle finish line detection
+     * @return True if the player reached the finish
      */
-    private void handleFinishDetection(Player player, Location to) {
-        Location finish = gameManager.getFinish();
-        if (finish == null || gameManager.isWinner(player.getUniqueId())) return;
-
-        if (GameManager.sameBlock(to, finish)) {
-            // Find the arena this player is in
-            for (Arena arena : gameManager.getArenas()) {
-                if (arena.isPlayerInArena(player.getUniqueId())) {
-                    arena.playerReachedFinish(player);
-                    break;
-                }
-            }
-        }
+    private boolean handleFinishDetection(Player player, PlayerSession.State state, Location from, Location to) {
+        if (state.winner()) return false;
+
+        Arena arena = state.arena();
+        if (arena.getState() == GameState.STARTING) return false;
+        if (!gameManager.getFinishIndex().reached(arena.getKey(), from, to)) return false;
+
+        // Runs right away unless the arena is ticked by another region
+        gameManager.getTicker().execute(arena, () -> arena.playerReachedFinish(player));
+        return true;
     }
 
     /**
      * Handle red light movement enforcement
      */
-    private void handleRedLightMovement(Player player, PlayerMoveEvent event) {
-        UUID playerId = player.getUniqueId();
-        
+    private void handleRedLightMovement(Player player, PlayerSession.State state, PlayerMoveEvent event,
+                                        boolean positionChanged) {
+        // Only an active arena with red light enforces movement, read from
+        // one snapshot so state and light always belong together
+        Arena playerArena = state.arena();
+        ArenaSnapshot view = playerArena.getSnapshot();
+        if (!view.isRedLight()) return;
+
         // Check if player is immune
-        if (gameManager.isImmune(playerId)) return;
-
-        // Find active arena with red light
-        Arena playerArena = null;
-        for (Arena arena : gameManager.getArenas()) {
-            if (arena.isPlayerInArena(playerId) && 
-                arena.getState() == GameState.ACTIVE && 
-                arena.getLightState() == LightState.RED) {
-                playerArena = arena;
-                break;
-            }
-        }
+        if (state.isImmune()) return;
 
-        if (playerArena == null) return;
+        // The arena sweeps positions itself in SWEEP mode
+        RlglSettings settings = gameManager.getConfigManager().getSettings();
+        if (settings.detectionMode() == DetectionMode.SWEEP) return;
 
-        // Check if player moved
-        Location from = event.getFrom();
-        Location to = event.getTo();
-        if (to == null) return;
+        // Rotation-only changes only count if the arena's policy says so
+        MovementCheck check = playerArena.getMovementCheck();
+        if (!positionChanged && !check.countsRotation()) return;
 
-        boolean moved = (from.getX() != to.getX()) || 
-                       (from.getY() != to.getY()) || 
-                       (from.getZ() != to.getZ()) ||
-                       (from.getPitch() != to.getPitch()) || 
-                       (from.getYaw() != to.getYaw());
+        if (check.moved(event.getFrom(), event.getTo())) {
+            // Moves the client sent before it could see the red light are forgiven
+            if (System.nanoTime() - view.phaseStartNanos() < settings.graceNanos(player.getPing())) return;
 
-        if (moved) {
             // Cancel the movement
             event.setCancelled(true);
             
-            // Eliminate the player
-            playerArena.eliminatePlayer(player);
+            // Eliminate the player, on the arena's thread. The event may be
+            // reused once this handler returns, so the journal gets copies
+            Location from = event.getFrom().clone();
+            Location to = event.getTo().clone();
+            gameManager.getTicker().execute(playerArena, () -> playerArena.eliminateMover(player, from, to));
         }
     }
-}
\ No newline at end of file
+}
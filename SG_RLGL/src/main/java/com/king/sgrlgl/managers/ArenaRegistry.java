@@ -0,0 +1,93 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.storage.StorageException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Keeps the arena definitions of the storage in memory. Definitions are
+ * read at startup without creating any arena; writes go through the
+ * background writer.
+ * 
+ * @author King
+ */
+public class ArenaRegistry {
+
+    private final Main plugin;
+    private final PersistenceManager persistence;
+    private final Map<String, ArenaDefinition> definitions = new LinkedHashMap<>();
+
+    public ArenaRegistry(Main plugin, PersistenceManager persistence) {
+        this.plugin = plugin;
+        this.persistence = persistence;
+    }
+
+    /**
+     * Read all definitions from the storage, replacing the ones in memory
+     */
+    public synchronized void load() {
+        List<ArenaDefinition> loaded;
+        try {
+            loaded = persistence.getStorage().loadArenas();
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not load the arena definitions, keeping the ones in memory", e);
+            return;
+        }
+
+        definitions.clear();
+        for (ArenaDefinition definition : loaded) {
+            // The key is used as a storage path and a journal folder
+            if (!ArenaDefinition.isValidName(definition.name())) {
+                plugin.getLogger().warning("Skipping arena with invalid name '" + definition.name()
+                        + "', names may only use letters, digits, _ and - (up to 32)");
+                continue;
+            }
+            definitions.put(definition.key(), definition);
+        }
+        plugin.getLogger().info("Indexed " + definitions.size() + " arena definition(s)");
+    }
+
+    /**
+     * Add or replace a definition and queue a save
+     * @param definition Definition to store
+     */
+    public synchronized void put(ArenaDefinition definition) {
+        definitions.put(definition.key(), definition);
+        save();
+    }
+
+    /**
+     * Remove a definition and queue a save
+     * @param key Lower case arena name
+     * @return Removed definition or null
+     */
+    public synchronized ArenaDefinition remove(String key) {
+        ArenaDefinition removed = definitions.remove(key);
+        if (removed != null) {
+            save();
+        }
+        return removed;
+    }
+
+    public synchronized ArenaDefinition get(String key) {
+        return definitions.get(key);
+    }
+
+    public synchronized Collection<ArenaDefinition> getAll() {
+        return List.copyOf(definitions.values());
+    }
+
+    /**
+     * Queue the current definitions to be written by the background writer
+     */
+    private void save() {
+        List<ArenaDefinition> snapshot = List.copyOf(definitions.values());
+        persistence.submit("the arena definitions", storage -> storage.saveArenas(snapshot));
+    }
+}
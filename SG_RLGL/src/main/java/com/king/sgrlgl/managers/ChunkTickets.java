@@ -0,0 +1,87 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.Main;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reference counted plugin chunk tickets. Bukkit keeps a single ticket per
+ * plugin and chunk, so independent users (teleport batches, warm arenas)
+ * must share it and only the last release removes it. Safe to use from
+ * any thread.
+ * 
+ * @author King
+ */
+public class ChunkTickets {
+
+    private final Main plugin;
+    private final Map<ChunkRef, Holder> holders = new HashMap<>();
+
+    public ChunkTickets(Main plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Load a chunk and hold a ticket on it once it is loaded
+     * @param world World of the chunk
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Future completed on the thread owning the chunk once the ticket is held
+     */
+    public synchronized CompletableFuture<Void> acquire(World world, int chunkX, int chunkZ) {
+        ChunkRef ref = new ChunkRef(world.getUID(), chunkX, chunkZ);
+        Holder holder = holders.get(ref);
+        if (holder != null) {
+            holder.count++;
+            return holder.ready;
+        }
+
+        Holder created = new Holder();
+        holders.put(ref, created);
+        created.ready = PaperSupport.loadChunk(world, chunkX, chunkZ).thenRun(() -> {
+            // Released again before the load finished
+            synchronized (this) {
+                if (holders.get(ref) == created) {
+                    world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+                }
+            }
+        });
+        return created.ready;
+    }
+
+    /**
+     * Release a ticket taken with {@link #acquire}
+     * @param world World of the chunk
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public synchronized void release(World world, int chunkX, int chunkZ) {
+        ChunkRef ref = new ChunkRef(world.getUID(), chunkX, chunkZ);
+        Holder holder = holders.get(ref);
+        if (holder == null) return;
+
+        if (--holder.count == 0) {
+            holders.remove(ref);
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+
+    /**
+     * Get the number of chunks currently held
+     */
+    public synchronized int size() {
+        return holders.size();
+    }
+
+    private record ChunkRef(UUID world, int x, int z) {
+    }
+
+    private static final class Holder {
+        private int count = 1;
+        private CompletableFuture<Void> ready;
+    }
+}
@@ -1,7 +1,8 @@
 package com.king.sgrlgl.managers;
 
 import com.king.sgrlgl.Main;
-import org.bukkit.ChatColor;
+import com.king.sgrlgl.game.EliminationMethod;
+import org.bukkit.Sound;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.List;
@@ -15,6 +16,8 @@ public class ConfigManager {
 
     private final Main plugin;
     private FileConfiguration config;
+    private volatile RlglSettings settings;
+    private volatile MessageCatalog messages;
 
     public ConfigManager(Main plugin) {
         this.plugin = plugin;
@@ -28,6 +31,17 @@ public class ConfigManager {
         plugin.saveDefaultConfig();
         plugin.reloadConfig();
         this.config = plugin.getConfig();
+        this.settings = RlglSettings.load(config, plugin.getLogger());
+        this.messages = MessageCatalog.compile(config.getConfigurationSection("messages"));
+    }
+
+    /**
+     * Get the compiled settings snapshot. Callers on hot paths should read
+     * this once and use the returned record for the whole operation.
+     * @return Current settings
+     */
+    public RlglSettings getSettings() {
+        return settings;
     }
 
     /**
@@ -44,15 +58,25 @@ public class ConfigManager {
      * @return Formatted message
      */
     public String getMessage(String path, String... placeholders) {
-        String message = config.getString("messages." + path, "");
-        message = ChatColor.translateAlternateColorCodes('&', message);
-        
-        // Replace placeholders
-        for (int i = 0; i < placeholders.length - 1; i += 2) {
-            message = message.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
-        }
-        
-        return message;
+        return messages.render(path, placeholders);
+    }
+
+    /**
+     * Get a message for an arena, memoized until the next reload
+     * @param path Configuration path
+     * @param arena Arena name used for the {arena} placeholder
+     * @return Formatted message
+     */
+    public String getArenaMessage(String path, String arena) {
+        return messages.renderForArena(path, arena);
+    }
+
+    /**
+     * Get the compiled message catalog
+     * @return Current catalog
+     */
+    public MessageCatalog getMessages() {
+        return messages;
     }
 
     /**
@@ -68,7 +92,7 @@ public class ConfigManager {
      * @return Minimum duration
      */
     public int getMinRedLightDuration() {
-        return config.getInt("timers.red-light.min", 3);
+        return settings.redLight().min();
     }
 
     /**
@@ -76,7 +100,7 @@ public class ConfigManager {
      * @return Maximum duration
      */
     public int getMaxRedLightDuration() {
-        return config.getInt("timers.red-light.max", 8);
+        return settings.redLight().max();
     }
 
     /**
@@ -84,7 +108,7 @@ public class ConfigManager {
      * @return Minimum duration
      */
     public int getMinGreenLightDuration() {
-        return config.getInt("timers.green-light.min", 5);
+        return settings.greenLight().min();
     }
 
     /**
@@ -92,15 +116,15 @@ public class ConfigManager {
      * @return Maximum duration
      */
     public int getMaxGreenLightDuration() {
-        return config.getInt("timers.green-light.max", 15);
+        return settings.greenLight().max();
     }
 
     /**
      * Get elimination method
      * @return Elimination method (KILL, KICK, TELEPORT)
      */
-    public String getEliminationMethod() {
-        return config.getString("elimination.method", "KICK").toUpperCase();
+    public EliminationMethod getEliminationMethod() {
+        return settings.eliminationMethod();
     }
 
     /**
@@ -108,7 +132,7 @@ public class ConfigManager {
      * @return True if spectator mode is enabled
      */
     public boolean isSpectatorModeEnabled() {
-        return config.getBoolean("elimination.spectator-mode", true);
+        return settings.spectatorMode();
     }
 
     /**
@@ -116,7 +140,7 @@ public class ConfigManager {
      * @return List of commands to execute
      */
     public List<String> getRewardCommands() {
-        return config.getStringList("rewards.commands");
+        return settings.rewardCommands();
     }
 
     /**
@@ -124,23 +148,23 @@ public class ConfigManager {
      * @return True if sounds are enabled
      */
     public boolean areSoundsEnabled() {
-        return config.getBoolean("effects.sounds.enabled", true);
+        return settings.soundsEnabled();
     }
 
     /**
      * Get green light sound
-     * @return Sound name
+     * @return Sound or null if the configured name is invalid
      */
-    public String getGreenLightSound() {
-        return config.getString("effects.sounds.green-light", "BLOCK_NOTE_BLOCK_PLING");
+    public Sound getGreenLightSound() {
+        return settings.greenLightSound();
     }
 
     /**
      * Get red light sound
-     * @return Sound name
+     * @return Sound or null if the configured name is invalid
      */
-    public String getRedLightSound() {
-        return config.getString("effects.sounds.red-light", "BLOCK_NOTE_BLOCK_BASS");
+    public Sound getRedLightSound() {
+        return settings.redLightSound();
     }
 
     /**
@@ -148,7 +172,7 @@ public class ConfigManager {
      * @return True if boss bar is enabled
      */
     public boolean isBossBarEnabled() {
-        return config.getBoolean("effects.boss-bar.enabled", true);
+        return settings.bossBarEnabled();
     }
 
     /**
@@ -156,7 +180,15 @@ public class ConfigManager {
      * @return True if action bar is enabled
      */
     public boolean isActionBarEnabled() {
-        return config.getBoolean("effects.action-bar.enabled", true);
+        return settings.actionBarEnabled();
+    }
+
+    /**
+     * Get the delay before pending data changes are written to disk
+     * @return Delay in ticks
+     */
+    public long getSaveDelayTicks() {
+        return settings.saveDelayTicks();
     }
 
     /**
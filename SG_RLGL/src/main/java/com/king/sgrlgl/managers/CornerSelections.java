@@ -0,0 +1,66 @@
+package com.king.sgrlgl.managers;
+
+import org.bukkit.Location;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * First corners of region selections in progress, kept per player until
+ * the opposite corner is set or the player leaves the server
+ * 
+ * @author King
+ */
+public class CornerSelections {
+
+    // Finish regions picked with the finish hoe
+    private final Map<UUID, Location> finish = new ConcurrentHashMap<>();
+    // Arena bounds picked with /rlgl arena setcorner
+    private final Map<UUID, Location> bounds = new ConcurrentHashMap<>();
+
+    /**
+     * Remember the first corner of a finish region
+     * @param playerId Player selecting the region
+     * @param corner First corner block
+     */
+    public void setFinishCorner(UUID playerId, Location corner) {
+        finish.put(playerId, corner);
+    }
+
+    /**
+     * Take the first corner of a finish region
+     * @param playerId Player selecting the region
+     * @return First corner or null if none was set
+     */
+    public Location takeFinishCorner(UUID playerId) {
+        return finish.remove(playerId);
+    }
+
+    /**
+     * Remember the first corner of arena bounds
+     * @param playerId Player selecting the bounds
+     * @param corner First corner location
+     */
+    public void setBoundsCorner(UUID playerId, Location corner) {
+        bounds.put(playerId, corner);
+    }
+
+    /**
+     * Take the first corner of arena bounds
+     * @param playerId Player selecting the bounds
+     * @return First corner or null if none was set
+     */
+    public Location takeBoundsCorner(UUID playerId) {
+        return bounds.remove(playerId);
+    }
+
+    /**
+     * Drop the selections of a player leaving the server
+     * @param playerId Player that left
+     */
+    public void forget(UUID playerId) {
+        finish.remove(playerId);
+        bounds.remove(playerId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.king.sgrlgl.managers;
+
+/**
+ * Immutable copy of the persistent game data, taken on the main thread
+ * and handed to the storage by the background writer
+ * 
+ * @param admins Admin UUIDs as packed pairs, see {@link UuidSet#toPairs()}
+ * @param guests Guest UUIDs as packed pairs
+ * @param winners Winner UUIDs as packed pairs
+ * @author King
+ */
+public record DataSnapshot(StoredLocation lobby, StoredLocation guestLobby, StoredLocation finish,
+                           long[] admins, long[] guests, long[] winners) {
+}
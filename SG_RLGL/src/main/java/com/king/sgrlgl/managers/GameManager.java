@@ -2,16 +2,30 @@ package com.king.sgrlgl.managers;
 
 import com.king.sgrlgl.Main;
 import com.king.sgrlgl.game.Arena;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.ArenaTicker;
+import com.king.sgrlgl.game.Cuboid;
+import com.king.sgrlgl.game.FinishIndex;
 import com.king.sgrlgl.game.GameState;
+import com.king.sgrlgl.game.MatchResult;
+import com.king.sgrlgl.game.PlayerSession;
+import com.king.sgrlgl.jmx.JmxRegistrar;
+import com.king.sgrlgl.metrics.MetricsExporter;
+import com.king.sgrlgl.metrics.MetricsRegistry;
+import com.king.sgrlgl.metrics.PluginMetrics;
+import com.king.sgrlgl.storage.Storage;
+import com.king.sgrlgl.storage.StorageException;
 import org.bukkit.*;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
 
 /**
- * Manages game arenas and player data
+ * Manages game arenas and player data. Shared state is concurrent, since
+ * arenas on a region threaded server run on different threads.
  * 
  * @author King
  */
@@ -19,59 +33,208 @@ public class GameManager {
 
     private final Main plugin;
     private final ConfigManager configManager;
+    // Arenas instantiated so far, created lazily from their definitions
     private final Map<String, Arena> arenas;
+    private final PersistenceManager persistence;
+    private final ArenaRegistry registry;
+    private final RewardDispatcher rewards;
+    private final ChunkTickets chunkTickets;
+    private final TeleportService teleports;
+    private final ArenaTicker ticker;
+    private final FinishIndex finishIndex = new FinishIndex();
+    private final CornerSelections selections = new CornerSelections();
+    private final PluginMetrics metrics = new PluginMetrics();
+    private final MetricsExporter metricsExporter;
+    private final JmxRegistrar jmx;
 
     // Player data storage
-    private Location lobby;
-    private Location guestLobby;
-    private Location finish;
+    private volatile Location lobby;
+    private volatile Location guestLobby;
+    private volatile Location finish;
 
-    private final Set<UUID> admins = new HashSet<>();
-    private final Set<UUID> guests = new HashSet<>();
-    private final Set<UUID> winners = new HashSet<>();
+    // Roles, kept as UUID pairs
+    private final UuidSet admins = new UuidSet();
+    private final UuidSet guests = new UuidSet();
+    private final UuidSet winners = new UuidSet();
+
+    // Players currently bound to an arena, resolved once per move event
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
 
     public GameManager(Main plugin, ConfigManager configManager) {
         this.plugin = plugin;
         this.configManager = configManager;
-        this.arenas = new HashMap<>();
+        this.arenas = new ConcurrentHashMap<>();
+        RlglSettings settings = configManager.getSettings();
+        Storage storage = Storage.open(plugin, settings.storageType(), settings.sqliteFile());
+        this.persistence = new PersistenceManager(plugin, configManager, metrics, this::snapshot, storage);
+        this.registry = new ArenaRegistry(plugin, persistence);
+        this.rewards = new RewardDispatcher(plugin, configManager, persistence);
+        rewards.load();
+        this.chunkTickets = new ChunkTickets(plugin);
+        this.teleports = new TeleportService(plugin, configManager, chunkTickets);
+        this.ticker = new ArenaTicker(plugin, plugin.getPluginScheduler());
+        this.metricsExporter = new MetricsExporter(plugin, metrics.getRegistry(), persistence);
+        this.jmx = new JmxRegistrar(plugin, this);
+        registerGauges();
         loadAll();
     }
 
     /**
-     * Load all data from configuration
+     * Load all data from the storage
      */
     public void loadAll() {
-        FileConfiguration config = plugin.getConfig();
-        
-        lobby = readLocation(config, "locations.lobby");
-        guestLobby = readLocation(config, "locations.guestLobby");
-        finish = readLocation(config, "locations.finish");
+        loadData();
 
-        admins.clear();
-        admins.addAll(readUUIDList(config, "roles.admins"));
-        
-        guests.clear();
-        guests.addAll(readUUIDList(config, "roles.guests"));
-        
-        winners.clear();
-        winners.addAll(readUUIDList(config, "roles.winners"));
+        for (PlayerSession session : sessions.values()) {
+            refreshRoles(session);
+        }
+
+        loadArenaDefinitions();
+
+        RlglSettings settings = configManager.getSettings();
+        metrics.setEnabled(settings.metricsEnabled());
+        metricsExporter.start(settings);
+        if (settings.jmxEnabled()) {
+            jmx.start();
+        } else {
+            jmx.stop();
+        }
+    }
+
+    /**
+     * Register gauges for state that is only read when metrics are exported
+     */
+    private void registerGauges() {
+        MetricsRegistry registry = metrics.getRegistry();
+        registry.gauge("sgrlgl_arenas_defined", "Arenas defined in the storage", () -> this.registry.getAll().size());
+        registry.gauge("sgrlgl_arenas_loaded", "Arenas instantiated since startup", arenas::size);
+        registry.gauge("sgrlgl_sessions", "Players bound to an arena", sessions::size);
+        registry.gauge("sgrlgl_reward_queue_depth", "Reward commands waiting to run", rewards::getQueueDepth);
+        registry.gauge("sgrlgl_pending_writes", "Data changes and files not yet written", persistence::getPendingWrites);
+        registry.gauge("sgrlgl_teleports_queued", "Players waiting in the teleport pipeline", teleports::getQueuedPlayers);
+        registry.gauge("sgrlgl_chunk_tickets", "Chunks held loaded by the plugin", chunkTickets::size);
+    }
+
+    /**
+     * Register the gauges of one arena
+     */
+    private void registerArenaGauges(Arena arena) {
+        MetricsRegistry registry = metrics.getRegistry();
+        String key = arena.getKey();
+        registry.gauge("sgrlgl_arena_players", "Players still in the match", arena::getPlayerCount, "arena", key);
+        registry.gauge("sgrlgl_arena_spectators", "Eliminated players watching the match", arena::getSpectatorCount, "arena", key);
+        registry.gauge("sgrlgl_arena_active", "1 while a match is running or counting down",
+                () -> arena.getState() == GameState.WAITING ? 0 : 1, "arena", key);
+        registry.gauge("sgrlgl_arena_red_light", "1 while the light is red",
+                () -> arena.getSnapshot().isRedLight() ? 1 : 0, "arena", key);
+    }
+
+    /**
+     * Index arena definitions without instantiating the arenas. Loaded
+     * arenas whose definition is gone from the storage are torn down.
+     */
+    private void loadArenaDefinitions() {
+        registry.load();
+        Set<String> keys = new HashSet<>();
+        for (ArenaDefinition definition : registry.getAll()) {
+            keys.add(definition.key());
+        }
+        for (Arena loaded : new ArrayList<>(arenas.values())) {
+            if (!keys.contains(loaded.getKey()) && arenas.remove(loaded.getKey(), loaded)) {
+                plugin.getLogger().info("Arena " + loaded.getName() + " is no longer defined, removing it");
+                teardown(loaded);
+            }
+        }
+
+        for (ArenaDefinition definition : registry.getAll()) {
+            finishIndex.setRegion(definition.key(), definition.finish());
+            Arena loaded = arenas.get(definition.key());
+            if (loaded != null) {
+                ticker.execute(loaded, () -> {
+                    loaded.setDefinition(definition);
+                    ticker.relocate(loaded);
+                });
+            }
+        }
     }
 
     /**
-     * Save all data to configuration
+     * Read the locations and roles from the storage
+     */
+    private void loadData() {
+        // Changes still queued would be lost when reading the storage back
+        persistence.flushNow();
+
+        DataSnapshot data;
+        try {
+            data = persistence.getStorage().loadData();
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not load the game data, keeping the data in memory", e);
+            return;
+        }
+
+        lobby = data.lobby() != null ? data.lobby().toLocation() : null;
+        guestLobby = data.guestLobby() != null ? data.guestLobby().toLocation() : null;
+        finish = data.finish() != null ? data.finish().toLocation() : null;
+        finishIndex.setGlobalFinish(finish != null ? Cuboid.ofBlocks(finish, finish) : null);
+
+        admins.replaceWith(data.admins());
+        guests.replaceWith(data.guests());
+        winners.replaceWith(data.winners());
+    }
+
+    /**
+     * Queue all data to be written to disk. Repeated calls within the
+     * save delay are coalesced into a single write.
      */
     public void saveAll() {
-        FileConfiguration config = plugin.getConfig();
-        
-        writeLocation(config, "locations.lobby", lobby);
-        writeLocation(config, "locations.guestLobby", guestLobby);
-        writeLocation(config, "locations.finish", finish);
+        long start = metrics.start();
+        persistence.markDirty();
+        metrics.getSaveRequests().recordSince(start);
+    }
+
+    /**
+     * Queue the result of a finished match to be stored
+     * @param result Match result
+     */
+    public void recordMatch(MatchResult result) {
+        persistence.submit("the result of a match in " + result.arena(), storage -> storage.recordMatch(result));
+    }
 
-        writeUUIDList(config, "roles.admins", admins);
-        writeUUIDList(config, "roles.guests", guests);
-        writeUUIDList(config, "roles.winners", winners);
+    /**
+     * Write pending data to disk and wait for it to complete
+     */
+    public void flushAll() {
+        persistence.flushNow();
+    }
 
-        plugin.saveConfig();
+    /**
+     * Flush pending data and stop the background writer
+     */
+    public void shutdown() {
+        metricsExporter.stop();
+        jmx.stop();
+        ticker.shutdown();
+        teleports.shutdown();
+        rewards.shutdown();
+        persistence.close();
+        for (Arena arena : arenas.values()) {
+            arena.getJournal().close();
+        }
+    }
+
+    /**
+     * Take an immutable copy of the persistent data
+     * @return Snapshot safe to serialize off the main thread
+     */
+    private DataSnapshot snapshot() {
+        return new DataSnapshot(
+                StoredLocation.of(lobby),
+                StoredLocation.of(guestLobby),
+                StoredLocation.of(finish),
+                admins.toPairs(),
+                guests.toPairs(),
+                winners.toPairs());
     }
 
     /**
@@ -80,22 +243,136 @@ public class GameManager {
      * @return Created arena
      */
     public Arena createArena(String name) {
-        Arena arena = new Arena(name, this, configManager);
-        arenas.put(name.toLowerCase(), arena);
-        return arena;
+        return createArena(name, null);
+    }
+
+    /**
+     * Create and persist a new arena
+     * @param name Arena name
+     * @param world World the arena is built in, may be null
+     * @return Created arena
+     * @throws IllegalArgumentException If the name is not valid, see {@link ArenaDefinition#isValidName}
+     */
+    public Arena createArena(String name, String world) {
+        if (!ArenaDefinition.isValidName(name)) {
+            throw new IllegalArgumentException("Invalid arena name: " + name);
+        }
+        ArenaDefinition definition = ArenaDefinition.create(name, world);
+        registry.put(definition);
+        return instantiate(definition);
     }
 
     /**
-     * Get an arena by name
+     * Delete an arena and its stored definition
+     * @param name Arena name
+     * @return True if the arena existed
+     */
+    public boolean deleteArena(String name) {
+        String key = name.toLowerCase();
+        Arena arena = arenas.remove(key);
+        if (arena != null) {
+            teardown(arena);
+        } else {
+            finishIndex.setRegion(key, null);
+        }
+        return registry.remove(key) != null || arena != null;
+    }
+
+    /**
+     * Stop and dispose an arena no longer in the arena map on the thread
+     * that ticks it, then forget it everywhere else
+     * @param arena Removed arena
+     */
+    private void teardown(Arena arena) {
+        String key = arena.getKey();
+        ticker.execute(arena, () -> {
+            arena.stopGame();
+            // Sessions still bound to the arena would keep resolving to it
+            arena.removeAllMembers();
+            arena.dispose();
+
+            ticker.remove(arena);
+            finishIndex.setRegion(key, null);
+            metrics.getRegistry().removeLabeled("arena", key);
+            jmx.unregister(key);
+            // The name may have been given to a new arena meanwhile
+            Arena replacement = arenas.get(key);
+            if (replacement != null) {
+                finishIndex.setRegion(key, replacement.getDefinition().finish());
+                registerArenaGauges(replacement);
+                jmx.register(replacement);
+            }
+        });
+    }
+
+    /**
+     * Get an arena by name, instantiating it on first use
      * @param name Arena name
      * @return Arena or null if not found
      */
     public Arena getArena(String name) {
-        return arenas.get(name.toLowerCase());
+        String key = name.toLowerCase();
+        Arena arena = arenas.get(key);
+        if (arena == null) {
+            ArenaDefinition definition = registry.get(key);
+            if (definition != null) {
+                arena = instantiate(definition);
+            }
+        }
+        return arena;
+    }
+
+    private Arena instantiate(ArenaDefinition definition) {
+        Arena arena = new Arena(definition, this, configManager);
+        // Another thread may have loaded the arena meanwhile
+        Arena existing = arenas.putIfAbsent(definition.key(), arena);
+        if (existing != null) return existing;
+        registerArenaGauges(arena);
+        jmx.register(arena);
+        return arena;
+    }
+
+    /**
+     * Change the definition of a loaded arena on the thread that ticks it,
+     * so the change lands between ticks and never races another change
+     * @param arena Arena to change
+     * @param edit Change applied to the current definition
+     */
+    public void editDefinition(Arena arena, UnaryOperator<ArenaDefinition> edit) {
+        editDefinition(arena, edit, null);
     }
 
     /**
-     * Get all arenas
+     * Change the definition of a loaded arena on the thread that ticks it
+     * @param arena Arena to change
+     * @param edit Change applied to the current definition
+     * @param then Run on the same thread once the change is applied, may be null
+     */
+    public void editDefinition(Arena arena, UnaryOperator<ArenaDefinition> edit, Runnable then) {
+        ticker.execute(arena, () -> {
+            updateDefinition(edit.apply(arena.getDefinition()));
+            if (then != null) then.run();
+        });
+    }
+
+    /**
+     * Replace the stored definition of an arena. A loaded arena must only be
+     * changed from the thread that ticks it, see {@link #editDefinition}.
+     * @param definition Updated definition
+     */
+    public void updateDefinition(ArenaDefinition definition) {
+        registry.put(definition);
+        finishIndex.setRegion(definition.key(), definition.finish());
+        Arena arena = arenas.get(definition.key());
+        if (arena != null) {
+            arena.setDefinition(definition);
+            // The lane of the arena follows its bounds to their region
+            ticker.relocate(arena);
+        }
+    }
+
+    /**
+     * Get all instantiated arenas
      * @return Collection of arenas
      */
     public Collection<Arena> getArenas() {
@@ -103,9 +380,98 @@ public class GameManager {
     }
 
     /**
-     * Stop all active games
+     * Get all defined arenas, including ones not instantiated yet
+     * @return Collection of definitions
+     */
+    public Collection<ArenaDefinition> getArenaDefinitions() {
+        return registry.getAll();
+    }
+
+    /**
+     * Check if an arena exists, without instantiating it
+     * @param name Arena name
+     * @return True if the arena is defined or loaded
+     */
+    public boolean isArenaDefined(String name) {
+        String key = name.toLowerCase();
+        return arenas.containsKey(key) || registry.get(key) != null;
+    }
+
+    /**
+     * Check if an arena has been instantiated
+     * @param name Arena name
+     * @return Arena or null if it was not used yet
+     */
+    public Arena getLoadedArena(String name) {
+        return arenas.get(name.toLowerCase());
+    }
+
+    /**
+     * Get the session of a player currently bound to an arena
+     * @param id Player UUID
+     * @return Session or null if the player is not in any arena
+     */
+    public PlayerSession getSession(UUID id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Get the number of players bound to an arena
+     * @return Session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Get or create the session of a player
+     * @param id Player UUID
+     * @return Session with up to date role flags
+     */
+    public PlayerSession openSession(UUID id) {
+        return sessions.computeIfAbsent(id, key -> {
+            PlayerSession session = new PlayerSession(key);
+            refreshRoles(session);
+            return session;
+        });
+    }
+
+    /**
+     * Drop the session of a player who left their arena
+     * @param id Player UUID
+     */
+    public void closeSession(UUID id) {
+        sessions.remove(id);
+    }
+
+    private void refreshRoles(UUID id) {
+        PlayerSession session = sessions.get(id);
+        if (session != null) {
+            refreshRoles(session);
+        }
+    }
+
+    private void refreshRoles(PlayerSession session) {
+        UUID id = session.getPlayerId();
+        session.updateRoles(admins.contains(id), guests.contains(id), winners.contains(id));
+    }
+
+    /**
+     * Stop all active games, each on the thread that ticks its arena
      */
     public void stopAllGames() {
+        for (Arena arena : arenas.values()) {
+            if (arena.getState() != GameState.WAITING) {
+                ticker.execute(arena, arena::stopGame);
+            }
+        }
+    }
+
+    /**
+     * Stop all active games on the current thread, used while disabling
+     * when schedulers no longer run tasks
+     */
+    public void stopAllGamesNow() {
         for (Arena arena : arenas.values()) {
             if (arena.getState() != GameState.WAITING) {
                 arena.stopGame();
@@ -142,55 +508,6 @@ public class GameManager {
             && a.getBlockZ() == b.getBlockZ();
     }
 
-    // Helper methods for configuration I/O
-    private Location readLocation(FileConfiguration config, String path) {
-        ConfigurationSection sec = config.getConfigurationSection(path);
-        if (sec == null || !sec.isSet("world")) return null;
-        
-        World w = Bukkit.getWorld(sec.getString("world"));
-        if (w == null) return null;
-        
-        double x = sec.getDouble("x");
-        double y = sec.getDouble("y");
-        double z = sec.getDouble("z");
-        float yaw = (float) sec.getDouble("yaw", 0.0);
-        float pitch = (float) sec.getDouble("pitch", 0.0);
-        
-        return new Location(w, x, y, z, yaw, pitch);
-    }
-
-    private void writeLocation(FileConfiguration config, String path, Location loc) {
-        if (loc == null) {
-            config.set(path, null);
-            return;
-        }
-        
-        config.set(path + ".world", loc.getWorld().getName());
-        config.set(path + ".x", loc.getX());
-        config.set(path + ".y", loc.getY());
-        config.set(path + ".z", loc.getZ());
-        config.set(path + ".yaw", loc.getYaw());
-        config.set(path + ".pitch", loc.getPitch());
-    }
-
-    private List<UUID> readUUIDList(FileConfiguration config, String path) {
-        return config.getStringList(path).stream()
-                .map(s -> {
-                    try {
-                        return UUID.fromString(s);
-                    } catch (IllegalArgumentException e) {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private void writeUUIDList(FileConfiguration config, String path, Collection<UUID> uuids) {
-        List<String> list = uuids.stream().map(UUID::toString).collect(Collectors.toList());
-        config.set(path, list);
-    }
-
     // Getters and setters
     public Location getLobby() { return lobby; }
     public void setLobby(Location lobby) { this.lobby = lobby; saveAll(); }
@@ -199,22 +516,34 @@ public class GameManager {
     public void setGuestLobby(Location guestLobby) { this.guestLobby = guestLobby; saveAll(); }
 
     public Location getFinish() { return finish; }
-    public void setFinish(Location finish) { this.finish = finish; saveAll(); }
+    public void setFinish(Location finish) {
+        this.finish = finish;
+        finishIndex.setGlobalFinish(finish != null ? Cuboid.ofBlocks(finish, finish) : null);
+        saveAll();
+    }
 
     public boolean isAdmin(UUID id) { return admins.contains(id); }
     public boolean isGuest(UUID id) { return guests.contains(id); }
     public boolean isWinner(UUID id) { return winners.contains(id); }
 
-    public void addAdmin(UUID id) { admins.add(id); saveAll(); }
-    public void addGuest(UUID id) { guests.add(id); saveAll(); }
-    public void addWinner(UUID id) { winners.add(id); saveAll(); }
+    public void addAdmin(UUID id) { admins.add(id); refreshRoles(id); saveAll(); }
+    public void addGuest(UUID id) { guests.add(id); refreshRoles(id); saveAll(); }
+    public void addWinner(UUID id) { winners.add(id); refreshRoles(id); saveAll(); }
 
-    public void removeAdmin(UUID id) { admins.remove(id); saveAll(); }
-    public void removeGuest(UUID id) { guests.remove(id); saveAll(); }
-    public void removeWinner(UUID id) { winners.remove(id); saveAll(); }
+    public void removeAdmin(UUID id) { admins.remove(id); refreshRoles(id); saveAll(); }
+    public void removeGuest(UUID id) { guests.remove(id); refreshRoles(id); saveAll(); }
+    public void removeWinner(UUID id) { winners.remove(id); refreshRoles(id); saveAll(); }
 
     public boolean isImmune(UUID id) { return isAdmin(id) || isGuest(id) || isWinner(id); }
 
     public Main getPlugin() { return plugin; }
     public ConfigManager getConfigManager() { return configManager; }
+    public PersistenceManager getPersistence() { return persistence; }
+    public ArenaTicker getTicker() { return ticker; }
+    public FinishIndex getFinishIndex() { return finishIndex; }
+    public CornerSelections getSelections() { return selections; }
+    public RewardDispatcher getRewards() { return rewards; }
+    public ChunkTickets getChunkTickets() { return chunkTickets; }
+    public TeleportService getTeleports() { return teleports; }
+    public PluginMetrics getMetrics() { return metrics; }
 }
\ No newline at end of file
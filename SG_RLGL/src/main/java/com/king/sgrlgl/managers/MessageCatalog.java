@@ -0,0 +1,82 @@
+package com.king.sgrlgl.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All configured messages compiled into templates, plus a memo of
+ * arena-scoped renders. A new catalog is built on every reload.
+ * 
+ * @author King
+ */
+public final class MessageCatalog {
+
+    private static final MessageTemplate EMPTY = MessageTemplate.compile("");
+
+    private final Map<String, MessageTemplate> templates;
+    // path -> arena name -> rendered message
+    private final Map<String, Map<String, String>> arenaMessages = new ConcurrentHashMap<>();
+
+    private MessageCatalog(Map<String, MessageTemplate> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Compile every message in a configuration section
+     * @param section The messages section, may be null
+     * @return Compiled catalog
+     */
+    public static MessageCatalog compile(ConfigurationSection section) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                if (section.isString(key)) {
+                    templates.put(key, MessageTemplate.compile(section.getString(key)));
+                }
+            }
+        }
+        return new MessageCatalog(templates);
+    }
+
+    /**
+     * Get a compiled template
+     * @param path Message path below messages
+     * @return Template, empty if the message is not configured
+     */
+    public MessageTemplate get(String path) {
+        return templates.getOrDefault(path, EMPTY);
+    }
+
+    /**
+     * Render a message with placeholders
+     * @param path Message path below messages
+     * @param placeholders Placeholder replacements (key, value pairs)
+     * @return Rendered message
+     */
+    public String render(String path, String... placeholders) {
+        return get(path).render(placeholders);
+    }
+
+    /**
+     * Render a message whose only placeholder is the arena name, memoized
+     * @param path Message path below messages
+     * @param arena Arena name
+     * @return Rendered message
+     */
+    public String renderForArena(String path, String arena) {
+        Map<String, String> byArena = arenaMessages.get(path);
+        if (byArena == null) {
+            byArena = arenaMessages.computeIfAbsent(path, key -> new ConcurrentHashMap<>());
+        }
+
+        String message = byArena.get(arena);
+        if (message == null) {
+            message = get(path).render("arena", arena);
+            byArena.put(arena, message);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,117 @@
+package com.king.sgrlgl.managers;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message compiled into literal chunks and placeholder slots. Color codes
+ * are translated once at compile time; rendering only appends.
+ * 
+ * @author King
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] keys;
+    private final int literalLength;
+    // Fully rendered text when the message has no placeholders
+    private final String constant;
+
+    private MessageTemplate(String[] literals, String[] keys, int literalLength) {
+        this.literals = literals;
+        this.keys = keys;
+        this.literalLength = literalLength;
+        this.constant = keys.length == 0 ? literals[0] : null;
+    }
+
+    /**
+     * Compile a raw configuration message
+     * @param raw Message with & color codes and {key} placeholders
+     * @return Compiled template
+     */
+    public static MessageTemplate compile(String raw) {
+        String text = ChatColor.translateAlternateColorCodes('&', raw == null ? "" : raw);
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+
+        int literalLength = 0;
+        int chunkStart = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            String key = text.substring(open + 1, close);
+            if (isKey(key)) {
+                String literal = text.substring(chunkStart, open);
+                literals.add(literal);
+                literalLength += literal.length();
+                keys.add(key);
+                chunkStart = close + 1;
+                open = text.indexOf('{', chunkStart);
+            } else {
+                open = text.indexOf('{', open + 1);
+            }
+        }
+        String tail = text.substring(chunkStart);
+        literals.add(tail);
+        literalLength += tail.length();
+
+        return new MessageTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]), literalLength);
+    }
+
+    private static boolean isKey(String key) {
+        if (key.isEmpty()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Render the message
+     * @param placeholders Placeholder replacements (key, value pairs)
+     * @return Rendered message, unknown placeholders are kept as-is
+     */
+    public String render(String... placeholders) {
+        if (constant != null) return constant;
+
+        int capacity = literalLength;
+        for (int i = 1; i < placeholders.length; i += 2) {
+            capacity += placeholders[i] != null ? placeholders[i].length() : 0;
+        }
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int slot = 0; slot < keys.length; slot++) {
+            builder.append(literals[slot]);
+            String value = lookup(keys[slot], placeholders);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(keys[slot]).append('}');
+            }
+        }
+        builder.append(literals[keys.length]);
+        return builder.toString();
+    }
+
+    private static String lookup(String key, String[] placeholders) {
+        for (int i = 0; i < placeholders.length - 1; i += 2) {
+            if (key.equals(placeholders[i])) {
+                return placeholders[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if the template has no placeholders
+     * @return True if rendering always returns the same string
+     */
+    public boolean isConstant() {
+        return constant != null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.king.sgrlgl.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Optional use of Paper's asynchronous chunk and teleport API. The plugin
+ * compiles against Spigot, so the methods are looked up once at startup
+ * and the Spigot behaviour is used when they are missing.
+ * 
+ * @author King
+ */
+public final class PaperSupport {
+
+    private static final MethodHandle TELEPORT_ASYNC = find(Entity.class, "teleportAsync",
+            MethodType.methodType(CompletableFuture.class, Location.class));
+    private static final MethodHandle CHUNK_AT_ASYNC = find(World.class, "getChunkAtAsync",
+            MethodType.methodType(CompletableFuture.class, int.class, int.class));
+
+    private PaperSupport() {
+    }
+
+    private static MethodHandle find(Class<?> owner, String name, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(owner, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if the server offers asynchronous teleports
+     * @return True on Paper and its forks
+     */
+    public static boolean hasAsyncTeleport() {
+        return TELEPORT_ASYNC != null;
+    }
+
+    /**
+     * Teleport an entity, asynchronously when the server supports it
+     * @param entity Entity to move
+     * @param target Destination
+     * @return Future completed with the teleport result
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Boolean> teleport(Entity entity, Location target) {
+        if (TELEPORT_ASYNC != null) {
+            try {
+                return (CompletableFuture<Boolean>) TELEPORT_ASYNC.invoke(entity, target);
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.completedFuture(entity.teleport(target));
+    }
+
+    /**
+     * Load a chunk, asynchronously when the server supports it
+     * @param world World of the chunk
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Future completed once the chunk is loaded
+     */
+    public static CompletableFuture<?> loadChunk(World world, int chunkX, int chunkZ) {
+        if (CHUNK_AT_ASYNC != null) {
+            try {
+                return (CompletableFuture<?>) CHUNK_AT_ASYNC.invoke(world, chunkX, chunkZ);
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        world.getChunkAt(chunkX, chunkZ);
+        return CompletableFuture.completedFuture(null);
+    }
+}
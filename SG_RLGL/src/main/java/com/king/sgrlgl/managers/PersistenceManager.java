@@ -0,0 +1,227 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.metrics.PluginMetrics;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import com.king.sgrlgl.storage.Storage;
+import com.king.sgrlgl.storage.StorageException;
+import com.king.sgrlgl.storage.StorageTask;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence for game data. Mutations only mark the data dirty;
+ * a single flush per delay window snapshots it on the main thread and a
+ * background writer hands it to the {@link Storage}.
+ *
+ * @author King
+ */
+public class PersistenceManager {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final Main plugin;
+    private final ConfigManager configManager;
+    private final PluginMetrics metrics;
+    private final Supplier<DataSnapshot> snapshotter;
+    private final Storage storage;
+    private final ExecutorService writer;
+
+    // Data mutations not yet written to disk
+    private final AtomicInteger dirtyChanges = new AtomicInteger();
+    // File writes queued on the writer thread
+    private final AtomicInteger queuedWrites = new AtomicInteger();
+    private final AtomicLong completedWrites = new AtomicLong();
+    private final AtomicLong lastWriteNanos = new AtomicLong();
+
+    // Guarded by this, changes are recorded from any arena thread
+    private TaskHandle flushTask;
+
+    public PersistenceManager(Main plugin, ConfigManager configManager, PluginMetrics metrics,
+                              Supplier<DataSnapshot> snapshotter, Storage storage) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.metrics = metrics;
+        this.snapshotter = snapshotter;
+        this.storage = storage;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "SG_RLGL-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record a mutation and make sure a flush is scheduled
+     */
+    public void markDirty() {
+        dirtyChanges.incrementAndGet();
+        synchronized (this) {
+            if (flushTask == null) {
+                long delay = Math.max(1L, configManager.getSaveDelayTicks());
+                flushTask = plugin.getPluginScheduler().runLater(this::flush, delay);
+            }
+        }
+    }
+
+    /**
+     * Snapshot the data and hand it to the background writer
+     */
+    private Future<?> flush() {
+        synchronized (this) {
+            flushTask = null;
+        }
+        int covered = dirtyChanges.get();
+        DataSnapshot snapshot = snapshotter.get();
+        return writer.submit(() -> write(snapshot, covered));
+    }
+
+    /**
+     * Write all pending changes and wait for them to reach the disk
+     */
+    public void flushNow() {
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+        }
+        if (getPendingWrites() == 0) return;
+
+        try {
+            // Writes run in order, so waiting for the last one drains the queue
+            Future<?> last = dirtyChanges.get() > 0 ? flush() : writer.submit(() -> { });
+            last.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to flush game data", e);
+        }
+    }
+
+    /**
+     * Flush pending changes, stop the background writer and close the storage
+     */
+    public void close() {
+        flushNow();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        storage.close();
+    }
+
+    /**
+     * Store a snapshot, runs on the writer thread
+     */
+    private void write(DataSnapshot snapshot, int covered) {
+        long start = System.nanoTime();
+        try {
+            storage.saveData(snapshot);
+
+            dirtyChanges.addAndGet(-covered);
+            completedWrites.incrementAndGet();
+            lastWriteNanos.set(System.nanoTime() - start);
+            metrics.getDiskWrites().record(System.nanoTime() - start);
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not save game data to " + storage.describe(), e);
+        }
+    }
+
+    /**
+     * Run a storage operation on the background writer, after the writes
+     * queued before it. Callers must capture immutable data in the task.
+     * @param description What is stored, for the error log
+     * @param task Operation to run
+     */
+    public void submit(String description, StorageTask task) {
+        queuedWrites.incrementAndGet();
+        writer.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run(storage);
+                completedWrites.incrementAndGet();
+                lastWriteNanos.set(System.nanoTime() - start);
+                metrics.getDiskWrites().record(System.nanoTime() - start);
+            } catch (StorageException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not save " + description + " to " + storage.describe(), e);
+            } finally {
+                queuedWrites.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Serialize and write a file on the background writer. Callers must
+     * capture immutable data in the serializer.
+     * @param target File to replace
+     * @param serializer Produces the new contents, runs on the writer thread
+     */
+    public void writeAsync(Path target, Supplier<String> serializer) {
+        queuedWrites.incrementAndGet();
+        writer.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                writeAtomically(target, serializer.get());
+                completedWrites.incrementAndGet();
+                lastWriteNanos.set(System.nanoTime() - start);
+                metrics.getDiskWrites().record(System.nanoTime() - start);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not save " + target.getFileName(), e);
+            } finally {
+                queuedWrites.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Replace a file with UTF-8 text, see {@link #writeAtomically(Path, byte[])}
+     * @param target File to replace
+     * @param data New contents
+     * @throws IOException If the file could not be written
+     */
+    public static void writeAtomically(Path target, String data) throws IOException {
+        writeAtomically(target, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Replace a file by writing a temporary sibling and renaming it over the target
+     * @param target File to replace
+     * @param data New contents
+     * @throws IOException If the file could not be written
+     */
+    public static void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, data);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public Storage getStorage() { return storage; }
+
+    // Metrics
+    public int getPendingWrites() { return dirtyChanges.get() + queuedWrites.get(); }
+    public long getCompletedWrites() { return completedWrites.get(); }
+    public long getLastWriteNanos() { return lastWriteNanos.get(); }
+}
@@ -0,0 +1,171 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Queues reward commands and runs a limited number of them per tick, so a
+ * rush of finishers does not stall the tick that detected them. The queue
+ * is mirrored to reward-queue.txt and survives restarts. Commands run on
+ * the main thread, or the global region of a region threaded server, while
+ * arenas on any thread may queue them.
+ * <p>
+ * Delivery is at least once: the queue file is rewritten after a tick's
+ * commands ran, so a crash before that write runs them again on the next
+ * start. Reward commands should be safe to repeat.
+ *
+ * @author King
+ */
+public class RewardDispatcher implements Runnable {
+
+    private final Main plugin;
+    private final ConfigManager configManager;
+    private final PersistenceManager persistence;
+    private final Path file;
+    private final Deque<Job> queue = new ArrayDeque<>();
+
+    private TaskHandle task;
+    private boolean dirty;
+
+    // Metrics
+    private long dispatched;
+    private long failed;
+    private long lastLatencyMillis;
+    private long maxLatencyMillis;
+    private long totalLatencyMillis;
+
+    public RewardDispatcher(Main plugin, ConfigManager configManager, PersistenceManager persistence) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.persistence = persistence;
+        this.file = plugin.getDataFolder().toPath().resolve("reward-queue.txt");
+    }
+
+    /**
+     * Restore jobs left over from the previous run
+     */
+    public synchronized void load() {
+        if (!Files.exists(file)) return;
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                try {
+                    queue.add(new Job(line.substring(tab + 1), Long.parseLong(line.substring(0, tab))));
+                } catch (NumberFormatException e) {
+                    // Corrupt line, skip it
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not read " + file.getFileName(), e);
+        }
+
+        if (!queue.isEmpty()) {
+            plugin.getLogger().info("Resuming " + queue.size() + " queued reward command(s)");
+            ensureRunning();
+        }
+    }
+
+    /**
+     * Queue a reward command to be run by the console
+     * @param command Command with placeholders already replaced
+     */
+    public synchronized void enqueue(String command) {
+        queue.add(new Job(command, System.currentTimeMillis()));
+        dirty = true;
+        ensureRunning();
+    }
+
+    private void ensureRunning() {
+        if (task == null) {
+            task = plugin.getPluginScheduler().runTimer(this, 1L, 1L);
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        int budget = configManager.getSettings().rewardCommandsPerTick();
+        Job job;
+        while (budget-- > 0 && (job = queue.poll()) != null) {
+            dispatch(job);
+            dirty = true;
+        }
+
+        // Mirror the queue to disk at most once per tick
+        if (dirty) {
+            save();
+        }
+
+        if (queue.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void dispatch(Job job) {
+        try {
+            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), job.command);
+        } catch (RuntimeException e) {
+            failed++;
+            plugin.getLogger().log(Level.WARNING, "Reward command failed: " + job.command, e);
+        }
+
+        long latency = Math.max(0L, System.currentTimeMillis() - job.enqueuedAt);
+        dispatched++;
+        lastLatencyMillis = latency;
+        maxLatencyMillis = Math.max(maxLatencyMillis, latency);
+        totalLatencyMillis += latency;
+    }
+
+    private void save() {
+        dirty = false;
+        List<String> lines = queue.stream()
+                .map(queued -> queued.enqueuedAt + "\t" + queued.command)
+                .collect(Collectors.toList());
+        persistence.writeAsync(file, () -> String.join("\n", lines));
+    }
+
+    /**
+     * Stop dispatching and store the remaining jobs for the next start
+     */
+    public synchronized void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (dirty) {
+            save();
+        }
+    }
+
+    // Metrics
+    public synchronized int getQueueDepth() { return queue.size(); }
+    public synchronized long getDispatchedCount() { return dispatched; }
+    public synchronized long getFailedCount() { return failed; }
+    public synchronized long getLastLatencyMillis() { return lastLatencyMillis; }
+    public synchronized long getMaxLatencyMillis() { return maxLatencyMillis; }
+    public synchronized double getAverageLatencyMillis() { return dispatched == 0 ? 0.0 : (double) totalLatencyMillis / dispatched; }
+
+    private static final class Job {
+        private final String command;
+        // Wall clock time so latency stays meaningful across restarts
+        private final long enqueuedAt;
+
+        private Job(String command, long enqueuedAt) {
+            this.command = command;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.game.DetectionMode;
+import com.king.sgrlgl.game.EliminationMethod;
+import com.king.sgrlgl.game.MovementMode;
+import com.king.sgrlgl.game.MovementPolicy;
+import com.king.sgrlgl.game.TimerRange;
+import com.king.sgrlgl.journal.JournalSettings;
+import com.king.sgrlgl.storage.StorageType;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Immutable, pre-parsed view of config.yml. Built once per load so hot
+ * paths never walk the YAML tree.
+ * 
+ * @author King
+ */
+public record RlglSettings(
+        int maxPlayers,
+        int minPlayers,
+        int countdownSeconds,
+        TimerRange redLight,
+        TimerRange greenLight,
+        EliminationMethod eliminationMethod,
+        boolean spectatorMode,
+        int lightningPerBatch,
+        int eliminationActionsPerTick,
+        DetectionMode detectionMode,
+        MovementPolicy movementPolicy,
+        double sweepMaxDistance,
+        float sweepMaxRotation,
+        int reactionAllowanceMillis,
+        int maxPingCompensationMillis,
+        List<String> rewardCommands,
+        int rewardCommandsPerTick,
+        int teleportsPerTick,
+        int teleportPreloadRadius,
+        int chunkLoadsPerTick,
+        int chunkWaitSeconds,
+        int keepWarmSeconds,
+        boolean soundsEnabled,
+        Sound greenLightSound,
+        Sound redLightSound,
+        boolean bossBarEnabled,
+        boolean actionBarEnabled,
+        long saveDelayTicks,
+        StorageType storageType,
+        String sqliteFile,
+        JournalSettings journal,
+        boolean metricsEnabled,
+        int metricsExportSeconds,
+        String metricsFile,
+        int metricsHttpPort,
+        boolean jmxEnabled) {
+
+    /**
+     * Compile settings from a configuration
+     * @param config Configuration root
+     * @param logger Logger for invalid values
+     * @return Settings snapshot
+     */
+    public static RlglSettings load(ConfigurationSection config, Logger logger) {
+        String methodName = config.getString("elimination.method", "KICK");
+        EliminationMethod method = EliminationMethod.fromName(methodName);
+        if (method == null) {
+            logger.warning("Unknown elimination method '" + methodName + "', using KICK");
+            method = EliminationMethod.KICK;
+        }
+
+        String modeName = config.getString("detection.mode", "EVENT");
+        DetectionMode mode = DetectionMode.fromName(modeName);
+        if (mode == null) {
+            logger.warning("Unknown detection mode '" + modeName + "', using EVENT");
+            mode = DetectionMode.EVENT;
+        }
+
+        String movementName = config.getString("detection.movement.mode", "ANY");
+        MovementMode movementMode = MovementMode.fromName(movementName);
+        if (movementMode == null) {
+            logger.warning("Unknown movement mode '" + movementName + "', using ANY");
+            movementMode = MovementMode.ANY;
+        }
+
+        String storageName = config.getString("storage.type", "YAML");
+        StorageType storageType = StorageType.fromName(storageName);
+        if (storageType == null) {
+            logger.warning("Unknown storage type '" + storageName + "', using YAML");
+            storageType = StorageType.YAML;
+        }
+
+        return new RlglSettings(
+                config.getInt("game.max-players", 20),
+                config.getInt("game.min-players", 2),
+                Math.max(0, config.getInt("game.countdown-seconds", 5)),
+                new TimerRange(config.getInt("timers.red-light.min", 3), config.getInt("timers.red-light.max", 8)),
+                new TimerRange(config.getInt("timers.green-light.min", 5), config.getInt("timers.green-light.max", 15)),
+                method,
+                config.getBoolean("elimination.spectator-mode", true),
+                Math.max(0, config.getInt("elimination.lightning-per-batch", 5)),
+                Math.max(1, config.getInt("elimination.actions-per-tick", 5)),
+                mode,
+                new MovementPolicy(movementMode, config.getDouble("detection.movement.epsilon", 0.05)),
+                Math.max(0.0, config.getDouble("detection.sweep.max-distance", 0.1)),
+                (float) Math.max(0.0, config.getDouble("detection.sweep.max-rotation", 1.0)),
+                Math.max(0, config.getInt("detection.reaction-allowance-ms", 150)),
+                Math.max(0, config.getInt("detection.max-ping-compensation-ms", 400)),
+                List.copyOf(config.getStringList("rewards.commands")),
+                Math.max(1, config.getInt("rewards.commands-per-tick", 2)),
+                Math.max(1, config.getInt("teleport.per-tick", 10)),
+                Math.max(0, config.getInt("teleport.preload-radius", 1)),
+                Math.max(1, config.getInt("chunks.loads-per-tick", 8)),
+                Math.max(0, config.getInt("chunks.max-wait-seconds", 10)),
+                Math.max(0, config.getInt("chunks.keep-warm-seconds", 60)),
+                config.getBoolean("effects.sounds.enabled", true),
+                parseSound(config.getString("effects.sounds.green-light", "BLOCK_NOTE_BLOCK_PLING"), logger),
+                parseSound(config.getString("effects.sounds.red-light", "BLOCK_NOTE_BLOCK_BASS"), logger),
+                config.getBoolean("effects.boss-bar.enabled", true),
+                config.getBoolean("effects.action-bar.enabled", true),
+                config.getLong("storage.save-delay-ticks", 40L),
+                storageType,
+                config.getString("storage.sqlite-file", "data.db"),
+                new JournalSettings(config.getBoolean("journal.enabled", true),
+                        Math.max(64, config.getInt("journal.segment-size-kb", 1024)) * 1024,
+                        Math.max(1, config.getInt("journal.max-segments", 32))),
+                config.getBoolean("metrics.enabled", true),
+                Math.max(1, config.getInt("metrics.export-interval-seconds", 15)),
+                config.getString("metrics.file", "metrics.prom"),
+                config.getInt("metrics.http-port", 0),
+                config.getBoolean("metrics.jmx", true));
+    }
+
+    /**
+     * Get the time after a switch to red light during which a player's
+     * moves are still forgiven: their round trip time, capped, plus the
+     * reaction allowance
+     * @param ping Player's current ping in milliseconds
+     * @return Grace window in nanoseconds
+     */
+    public long graceNanos(int ping) {
+        int compensated = Math.min(Math.max(ping, 0), maxPingCompensationMillis);
+        return (compensated + reactionAllowanceMillis) * 1_000_000L;
+    }
+
+    private static Sound parseSound(String name, Logger logger) {
+        try {
+            return Sound.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            // Invalid sound name, play nothing
+            logger.warning("Unknown sound '" + name + "', it will not be played");
+            return null;
+        }
+    }
+}
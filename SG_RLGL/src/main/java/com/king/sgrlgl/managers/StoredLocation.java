@@ -0,0 +1,70 @@
+package com.king.sgrlgl.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * World-independent copy of a location that is safe to hand to other threads
+ * 
+ * @author King
+ */
+public record StoredLocation(String world, double x, double y, double z, float yaw, float pitch) {
+
+    /**
+     * Copy a live location
+     * @param loc Location to copy, may be null
+     * @return Stored location or null if the location or its world is missing
+     */
+    public static StoredLocation of(Location loc) {
+        if (loc == null || loc.getWorld() == null) return null;
+        return new StoredLocation(loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ(),
+                loc.getYaw(), loc.getPitch());
+    }
+
+    /**
+     * Read a stored location from a configuration section
+     * @param config Configuration to read from
+     * @param path Section path
+     * @return Stored location or null if not set
+     */
+    public static StoredLocation read(ConfigurationSection config, String path) {
+        ConfigurationSection sec = config.getConfigurationSection(path);
+        if (sec == null || !sec.isSet("world")) return null;
+
+        return new StoredLocation(sec.getString("world"),
+                sec.getDouble("x"), sec.getDouble("y"), sec.getDouble("z"),
+                (float) sec.getDouble("yaw", 0.0), (float) sec.getDouble("pitch", 0.0));
+    }
+
+    /**
+     * Write a stored location to a configuration section
+     * @param config Configuration to write to
+     * @param path Section path
+     * @param loc Location to write, null clears the section
+     */
+    public static void write(ConfigurationSection config, String path, StoredLocation loc) {
+        if (loc == null) {
+            config.set(path, null);
+            return;
+        }
+
+        config.set(path + ".world", loc.world());
+        config.set(path + ".x", loc.x());
+        config.set(path + ".y", loc.y());
+        config.set(path + ".z", loc.z());
+        config.set(path + ".yaw", loc.yaw());
+        config.set(path + ".pitch", loc.pitch());
+    }
+
+    /**
+     * Resolve back to a live location, must be called on the main thread
+     * @return Location or null if the world is not loaded
+     */
+    public Location toLocation() {
+        World w = Bukkit.getWorld(world);
+        if (w == null) return null;
+        return new Location(w, x, y, z, yaw, pitch);
+    }
+}
@@ -0,0 +1,215 @@
+package com.king.sgrlgl.managers;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Moves groups of players without stalling the main thread. The chunks
+ * around the destination are loaded and held with plugin tickets first,
+ * then players are sent a few per tick, asynchronously on Paper. Each batch
+ * reports how many teleports succeeded once the last one completes.
+ * On region threaded servers each teleport runs on the player's own
+ * scheduler, and batches may be queued from any arena thread.
+ * 
+ * @author King
+ */
+public class TeleportService implements Runnable {
+
+    private final Main plugin;
+    private final ConfigManager configManager;
+    private final ChunkTickets tickets;
+    private final Deque<Batch> batches = new ArrayDeque<>();
+
+    private TaskHandle task;
+
+    public TeleportService(Main plugin, ConfigManager configManager, ChunkTickets tickets) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.tickets = tickets;
+    }
+
+    /**
+     * Queue a group of players to be teleported
+     * @param players Players to move
+     * @param target Destination
+     * @param callback Called with the outcome once every teleport finished, may be null
+     */
+    public synchronized void teleport(Collection<? extends Player> players, Location target, Consumer<Result> callback) {
+        World world = target.getWorld();
+        if (players.isEmpty() || world == null) {
+            if (callback != null) callback.accept(new Result(players.size(), 0, players.size()));
+            return;
+        }
+
+        Batch batch = new Batch(new ArrayList<>(players), target.clone(), callback);
+        int radius = configManager.getSettings().teleportPreloadRadius();
+        int centerX = target.getBlockX() >> 4;
+        int centerZ = target.getBlockZ() >> 4;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                batch.chunks.add(new int[] {x, z});
+                batch.loading++;
+                tickets.acquire(world, x, z).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().log(Level.WARNING, "Could not preload teleport destination chunk", error);
+                    }
+                    synchronized (this) {
+                        batch.loading--;
+                    }
+                });
+            }
+        }
+
+        batches.add(batch);
+        ensureRunning();
+    }
+
+    /**
+     * Teleport a single player through the pipeline
+     * @param player Player to move
+     * @param target Destination
+     * @param callback Called with the outcome, may be null
+     */
+    public void teleport(Player player, Location target, Consumer<Result> callback) {
+        teleport(List.of(player), target, callback);
+    }
+
+    private void ensureRunning() {
+        if (task == null) {
+            task = plugin.getPluginScheduler().runTimer(this, 1L, 1L);
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        int budget = configManager.getSettings().teleportsPerTick();
+
+        for (Batch batch : batches) {
+            // Wait until the destination is loaded before sending anyone
+            if (batch.loading > 0) continue;
+
+            while (budget > 0 && batch.next < batch.players.size()) {
+                send(batch, batch.players.get(batch.next++));
+                budget--;
+            }
+            if (budget == 0) break;
+        }
+
+        batches.removeIf(this::complete);
+
+        if (batches.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void send(Batch batch, Player player) {
+        if (!player.isOnline()) {
+            batch.failed++;
+            return;
+        }
+
+        batch.inFlight++;
+        // Teleports have to start on the thread that owns the player
+        plugin.getPluginScheduler().executeFor(player,
+                () -> PaperSupport.teleport(player, batch.target).whenComplete((success, error) ->
+                        arrived(batch, error == null && Boolean.TRUE.equals(success))),
+                () -> arrived(batch, false));
+    }
+
+    private synchronized void arrived(Batch batch, boolean success) {
+        batch.inFlight--;
+        if (success) {
+            batch.succeeded++;
+        } else {
+            batch.failed++;
+        }
+    }
+
+    private boolean complete(Batch batch) {
+        if (batch.loading > 0 || batch.next < batch.players.size() || batch.inFlight > 0) {
+            return false;
+        }
+
+        // Teleported players keep the chunks loaded from here on
+        World world = batch.target.getWorld();
+        for (int[] chunk : batch.chunks) {
+            tickets.release(world, chunk[0], chunk[1]);
+        }
+
+        if (batch.callback != null) {
+            try {
+                batch.callback.accept(new Result(batch.players.size(), batch.succeeded, batch.failed));
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.SEVERE, "Error in teleport callback", e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop sending players and release held chunks
+     */
+    public synchronized void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Batch batch : batches) {
+            World world = batch.target.getWorld();
+            for (int[] chunk : batch.chunks) {
+                tickets.release(world, chunk[0], chunk[1]);
+            }
+        }
+        batches.clear();
+    }
+
+    // Metrics
+    public synchronized int getQueuedBatches() { return batches.size(); }
+    public synchronized int getQueuedPlayers() {
+        int queued = 0;
+        for (Batch batch : batches) {
+            queued += batch.players.size() - batch.next;
+        }
+        return queued;
+    }
+
+    /**
+     * Outcome of a teleport batch
+     * @param requested Players in the batch
+     * @param succeeded Players that arrived
+     * @param failed Players that went offline or could not be moved
+     */
+    public record Result(int requested, int succeeded, int failed) {
+    }
+
+    private static final class Batch {
+        private final List<Player> players;
+        private final Location target;
+        private final Consumer<Result> callback;
+        private final List<int[]> chunks = new ArrayList<>();
+
+        private int loading;
+        private int next;
+        private int inFlight;
+        private int succeeded;
+        private int failed;
+
+        private Batch(List<Player> players, Location target, Consumer<Result> callback) {
+            this.players = players;
+            this.target = target;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.king.sgrlgl.managers;
+
+import java.util.UUID;
+
+/**
+ * Set of UUIDs stored as pairs of longs in an open addressing table with
+ * linear probing. No entry is boxed and no node is allocated, so tens of
+ * thousands of winners cost 16 bytes each plus free slots. Methods are
+ * synchronized, since arenas on different regions grant roles.
+ * 
+ * @author King
+ */
+public final class UuidSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    // Slots holding 0/0 are free, the nil UUID is tracked separately
+    private long[] most;
+    private long[] least;
+    private int mask;
+    private int size;
+    private boolean containsNil;
+
+    public UuidSet() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Spread both halves over the table, random UUIDs are already uniform
+     * but offline mode UUIDs are name hashes with fixed version bits
+     */
+    static int slot(long msb, long lsb, int mask) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public boolean contains(UUID id) {
+        return contains(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * Check if a UUID is in the set
+     * @param msb Most significant bits
+     * @param lsb Least significant bits
+     * @return True if present
+     */
+    public synchronized boolean contains(long msb, long lsb) {
+        if ((msb | lsb) == 0L) return containsNil;
+
+        for (int i = slot(msb, lsb, mask); ; i = (i + 1) & mask) {
+            long m = most[i];
+            long l = least[i];
+            if (m == msb && l == lsb) return true;
+            if ((m | l) == 0L) return false;
+        }
+    }
+
+    public boolean add(UUID id) {
+        return add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * Add a UUID to the set
+     * @param msb Most significant bits
+     * @param lsb Least significant bits
+     * @return True if it was not present yet
+     */
+    public synchronized boolean add(long msb, long lsb) {
+        if ((msb | lsb) == 0L) {
+            if (containsNil) return false;
+            containsNil = true;
+            size++;
+            return true;
+        }
+
+        int i = slot(msb, lsb, mask);
+        while ((most[i] | least[i]) != 0L) {
+            if (most[i] == msb && least[i] == lsb) return false;
+            i = (i + 1) & mask;
+        }
+        most[i] = msb;
+        least[i] = lsb;
+        // Keep the table at most half full so probe runs stay short
+        if (++size * 2 > most.length) {
+            rehash(most.length * 2);
+        }
+        return true;
+    }
+
+    public boolean remove(UUID id) {
+        return remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * Remove a UUID from the set
+     * @param msb Most significant bits
+     * @param lsb Least significant bits
+     * @return True if it was present
+     */
+    public synchronized boolean remove(long msb, long lsb) {
+        if ((msb | lsb) == 0L) {
+            if (!containsNil) return false;
+            containsNil = false;
+            size--;
+            return true;
+        }
+
+        int i = slot(msb, lsb, mask);
+        while (most[i] != msb || least[i] != lsb) {
+            if ((most[i] | least[i]) == 0L) return false;
+            i = (i + 1) & mask;
+        }
+        size--;
+
+        // Shift later entries of the probe run back instead of leaving a
+        // tombstone, so lookups never scan past deleted slots
+        int gap = i;
+        for (int j = (gap + 1) & mask; (most[j] | least[j]) != 0L; j = (j + 1) & mask) {
+            int home = slot(most[j], least[j], mask);
+            // Move the entry if its home slot is not between the gap and itself
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                most[gap] = most[j];
+                least[gap] = least[j];
+                gap = j;
+            }
+        }
+        most[gap] = 0L;
+        least[gap] = 0L;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        allocate(capacity);
+        for (int i = 0; i < oldMost.length; i++) {
+            long m = oldMost[i];
+            long l = oldLeast[i];
+            if ((m | l) == 0L) continue;
+
+            int j = slot(m, l, mask);
+            while ((most[j] | least[j]) != 0L) {
+                j = (j + 1) & mask;
+            }
+            most[j] = m;
+            least[j] = l;
+        }
+    }
+
+    /**
+     * Remove every UUID and shrink the table
+     */
+    public synchronized void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        containsNil = false;
+    }
+
+    /**
+     * Replace the contents with packed pairs
+     * @param pairs Most and least significant bits, alternating
+     */
+    public synchronized void replaceWith(long[] pairs) {
+        int entries = pairs.length / 2;
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2 + 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        size = 0;
+        containsNil = false;
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            add(pairs[i], pairs[i + 1]);
+        }
+    }
+
+    /**
+     * Copy the contents for the background writer
+     * @return Most and least significant bits, alternating
+     */
+    public synchronized long[] toPairs() {
+        long[] pairs = new long[size * 2];
+        int n = 0;
+        if (containsNil) {
+            n += 2;
+        }
+        for (int i = 0; i < most.length; i++) {
+            if ((most[i] | least[i]) == 0L) continue;
+            pairs[n++] = most[i];
+            pairs[n++] = least[i];
+        }
+        return pairs;
+    }
+
+    public synchronized int size() { return size; }
+}
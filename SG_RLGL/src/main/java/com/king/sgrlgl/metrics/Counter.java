@@ -0,0 +1,39 @@
+package com.king.sgrlgl.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to increment from any thread
+ * 
+ * @author King
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help, String labels) {
+        super(name, help, labels);
+    }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        writeSample(out, "", "", get());
+    }
+}
@@ -0,0 +1,33 @@
+package com.king.sgrlgl.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value read when the metrics are exported. Suppliers may read game state,
+ * so exports have to run on the main thread.
+ * 
+ * @author King
+ */
+public final class Gauge extends Metric {
+
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, String help, String labels, DoubleSupplier supplier) {
+        super(name, help, labels);
+        this.supplier = supplier;
+    }
+
+    public double get() {
+        return supplier.getAsDouble();
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        writeSample(out, "", "", get());
+    }
+}
@@ -0,0 +1,112 @@
+package com.king.sgrlgl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram. Each power of
+ * two is split into 32 linear sub-buckets, so recorded values keep about
+ * 3% precision from nanoseconds up to hours with a fixed set of buckets
+ * and no allocation per sample.
+ * 
+ * @author King
+ */
+public final class LatencyHistogram extends Metric {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    LatencyHistogram(String name, String help, String labels) {
+        super(name, help, labels);
+    }
+
+    /**
+     * Record a duration
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Record the time elapsed since a start taken with {@link PluginMetrics#start()}
+     * @param startNanos Start time, 0 when metrics are disabled
+     */
+    public void recordSince(long startNanos) {
+        if (startNanos != 0L) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Get the value below which a share of the samples fall
+     * @param quantile Quantile between 0 and 1
+     * @return Duration in nanoseconds, 0 if nothing was recorded
+     */
+    public long valueAtQuantile(double quantile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0L;
+
+        long target = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getCount() { return count.sum(); }
+    public long getSum() { return sum.sum(); }
+    public long getMax() { return max.get(); }
+    public double getMean() { long n = getCount(); return n == 0 ? 0.0 : (double) getSum() / n; }
+
+    @Override
+    public String getType() {
+        return "summary";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        // Exported in seconds, the Prometheus base unit
+        for (double quantile : QUANTILES) {
+            writeSample(out, "", "quantile=\"" + quantile + "\"", valueAtQuantile(quantile) / 1e9);
+        }
+        writeSample(out, "_sum", "", getSum() / 1e9);
+        writeSample(out, "_count", "", getCount());
+    }
+}
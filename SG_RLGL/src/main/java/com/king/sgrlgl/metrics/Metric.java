@@ -0,0 +1,67 @@
+package com.king.sgrlgl.metrics;
+
+/**
+ * Named metric with optional labels, rendered in Prometheus text format
+ * 
+ * @author King
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+    private final String labels;
+
+    protected Metric(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    /**
+     * Prometheus metric type
+     * @return counter, gauge or summary
+     */
+    public abstract String getType();
+
+    /**
+     * Append the sample lines of this metric
+     * @param out Output buffer
+     */
+    public abstract void writeSamples(StringBuilder out);
+
+    /**
+     * Append one sample line
+     * @param out Output buffer
+     * @param suffix Name suffix such as _sum, may be empty
+     * @param extraLabel Additional label such as quantile="0.5", may be empty
+     * @param value Sample value
+     */
+    protected void writeSample(StringBuilder out, String suffix, String extraLabel, double value) {
+        out.append(name).append(suffix);
+        if (!labels.isEmpty() || !extraLabel.isEmpty()) {
+            out.append('{').append(labels);
+            if (!labels.isEmpty() && !extraLabel.isEmpty()) out.append(',');
+            out.append(extraLabel).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Check if this metric carries a label
+     * @param label Rendered label pair, such as arena="lobby"
+     */
+    boolean hasLabel(String label) {
+        return labels.equals(label) || labels.startsWith(label + ",") || labels.contains("," + label);
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getHelp() { return help; }
+    public String getLabels() { return labels; }
+}
@@ -0,0 +1,104 @@
+package com.king.sgrlgl.metrics;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.managers.PersistenceManager;
+import com.king.sgrlgl.managers.RlglSettings;
+import com.king.sgrlgl.scheduler.TaskHandle;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * Periodically renders the metrics in Prometheus text format on the main
+ * thread, then writes them to a file through the background writer and/or
+ * serves them on a loopback-only HTTP endpoint.
+ * 
+ * @author King
+ */
+public class MetricsExporter implements Runnable {
+
+    private final Main plugin;
+    private final MetricsRegistry registry;
+    private final PersistenceManager persistence;
+
+    private TaskHandle task;
+    private HttpServer http;
+    private Path file;
+    private volatile byte[] latest = new byte[0];
+
+    public MetricsExporter(Main plugin, MetricsRegistry registry, PersistenceManager persistence) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.persistence = persistence;
+    }
+
+    /**
+     * Start or restart exporting with the current settings
+     * @param settings Settings snapshot
+     */
+    public void start(RlglSettings settings) {
+        stop();
+        if (!settings.metricsEnabled()) return;
+
+        String fileName = settings.metricsFile();
+        file = fileName.isEmpty() ? null : plugin.getDataFolder().toPath().resolve(fileName);
+
+        if (settings.metricsHttpPort() > 0) {
+            startHttp(settings.metricsHttpPort());
+        }
+
+        if (file != null || http != null) {
+            long period = Math.max(1L, settings.metricsExportSeconds()) * 20L;
+            task = plugin.getPluginScheduler().runTimer(this, 20L, period);
+        }
+    }
+
+    private void startHttp(int port) {
+        try {
+            // Loopback only, the endpoint is meant for a local scraper or agent
+            http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            http.createContext("/metrics", exchange -> {
+                byte[] body = latest;
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            http.start();
+            plugin.getLogger().info("Serving metrics on http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            http = null;
+            plugin.getLogger().log(Level.SEVERE, "Could not start the metrics endpoint on port " + port, e);
+        }
+    }
+
+    @Override
+    public void run() {
+        String text = registry.toPrometheus();
+        latest = text.getBytes(StandardCharsets.UTF_8);
+        if (file != null) {
+            persistence.writeAsync(file, () -> text);
+        }
+    }
+
+    /**
+     * Stop the export task and the HTTP endpoint
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (http != null) {
+            http.stop(0);
+            http = null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.king.sgrlgl.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Holds all metrics of the plugin. Registration is rare and synchronized;
+ * recording goes straight to the metric objects without touching the
+ * registry.
+ * 
+ * @author King
+ */
+public class MetricsRegistry {
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    /**
+     * Get or create a counter
+     * @param name Metric name
+     * @param help Description
+     * @param labels Label key, value pairs
+     * @return Counter
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return register(new Counter(name, help, formatLabels(labels)), Counter.class);
+    }
+
+    /**
+     * Get or create a latency histogram
+     * @param name Metric name, ending in _seconds
+     * @param help Description
+     * @param labels Label key, value pairs
+     * @return Histogram
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return register(new LatencyHistogram(name, help, formatLabels(labels)), LatencyHistogram.class);
+    }
+
+    /**
+     * Register a gauge, replacing an existing one with the same name and labels
+     * @param name Metric name
+     * @param help Description
+     * @param supplier Reads the current value
+     * @param labels Label key, value pairs
+     */
+    public synchronized void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        Gauge gauge = new Gauge(name, help, formatLabels(labels), supplier);
+        metrics.put(key(gauge), gauge);
+    }
+
+    private synchronized <T extends Metric> T register(T metric, Class<T> type) {
+        Metric existing = metrics.putIfAbsent(key(metric), metric);
+        return existing == null ? metric : type.cast(existing);
+    }
+
+    /**
+     * Remove every metric carrying a label, such as the metrics of a deleted arena
+     * @param label Label key
+     * @param value Label value
+     */
+    public synchronized void removeLabeled(String label, String value) {
+        String pair = label + "=\"" + escape(value) + "\"";
+        metrics.values().removeIf(metric -> metric.hasLabel(pair));
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format
+     * @return Exposition text
+     */
+    public String toPrometheus() {
+        Map<String, List<Metric>> byName = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Metric metric : metrics.values()) {
+                byName.computeIfAbsent(metric.getName(), name -> new ArrayList<>()).add(metric);
+            }
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        for (List<Metric> family : byName.values()) {
+            Metric first = family.get(0);
+            out.append("# HELP ").append(first.getName()).append(' ').append(first.getHelp()).append('\n');
+            out.append("# TYPE ").append(first.getName()).append(' ').append(first.getType()).append('\n');
+            for (Metric metric : family) {
+                metric.writeSamples(out);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String key(Metric metric) {
+        return metric.getName() + "{" + metric.getLabels() + "}";
+    }
+
+    private static String formatLabels(String... labels) {
+        if (labels.length == 0) return "";
+
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (out.length() > 0) out.append(',');
+            out.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return out.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,64 @@
+package com.king.sgrlgl.metrics;
+
+/**
+ * The plugin's hot-path instruments. Timed sections take a start with
+ * {@link #start()} and record it with {@link LatencyHistogram#recordSince};
+ * when metrics are disabled the start is 0 and nothing is recorded.
+ * 
+ * @author King
+ */
+public class PluginMetrics {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private volatile boolean enabled = true;
+
+    private final LatencyHistogram moveHandling = registry.histogram("sgrlgl_move_handling_seconds",
+            "Time spent handling one player move event");
+    private final LatencyHistogram effectUpdates = registry.histogram("sgrlgl_effect_update_seconds",
+            "Time spent sending titles, sounds and boss bars on a light switch");
+    private final LatencyHistogram eliminations = registry.histogram("sgrlgl_elimination_seconds",
+            "Time spent eliminating one player");
+    private final LatencyHistogram eliminationBatches = registry.histogram("sgrlgl_elimination_batch_seconds",
+            "Time spent applying the effects of one tick's eliminations");
+    private final LatencyHistogram sweeps = registry.histogram("sgrlgl_red_light_sweep_seconds",
+            "Time spent comparing player positions in one red light sweep");
+    private final LatencyHistogram finishes = registry.histogram("sgrlgl_finish_seconds",
+            "Time spent handling a player reaching the finish");
+    private final LatencyHistogram saveRequests = registry.histogram("sgrlgl_save_request_seconds",
+            "Time spent on the main thread requesting a data save");
+    private final LatencyHistogram diskWrites = registry.histogram("sgrlgl_disk_write_seconds",
+            "Time spent writing a data file on the background writer");
+    private final Counter phaseSwitches = registry.counter("sgrlgl_phase_switches_total",
+            "Light phase switches across all arenas");
+    private final Counter matches = registry.counter("sgrlgl_matches_started_total",
+            "Matches started across all arenas");
+
+    /**
+     * Take the start time of a timed section
+     * @return Current nano time, or 0 when metrics are disabled
+     */
+    public long start() {
+        if (!enabled) return 0L;
+        long now = System.nanoTime();
+        // 0 means disabled, nanoTime may legitimately return it
+        return now == 0L ? 1L : now;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public MetricsRegistry getRegistry() { return registry; }
+    public LatencyHistogram getMoveHandling() { return moveHandling; }
+    public LatencyHistogram getEffectUpdates() { return effectUpdates; }
+    public LatencyHistogram getEliminations() { return eliminations; }
+    public LatencyHistogram getEliminationBatches() { return eliminationBatches; }
+    public LatencyHistogram getSweeps() { return sweeps; }
+    public LatencyHistogram getFinishes() { return finishes; }
+    public LatencyHistogram getSaveRequests() { return saveRequests; }
+    public LatencyHistogram getDiskWrites() { return diskWrites; }
+    public Counter getPhaseSwitches() { return phaseSwitches; }
+    public Counter getMatches() { return matches; }
+}
@@ -0,0 +1,69 @@
+package com.king.sgrlgl.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * {@link PluginScheduler} of servers with a single main thread
+ * 
+ * @author King
+ */
+final class MainThreadScheduler implements PluginScheduler {
+
+    private final Plugin plugin;
+
+    MainThreadScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runTimer(Runnable task, long delay, long period) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period)::cancel;
+    }
+
+    @Override
+    public TaskHandle runLater(Runnable task, long delay) {
+        return Bukkit.getScheduler().runTaskLater(plugin, task, delay)::cancel;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public TaskHandle runTimerAt(Location location, Runnable task, long delay, long period) {
+        return runTimer(task, delay, period);
+    }
+
+    @Override
+    public TaskHandle runLaterAt(Location location, Runnable task, long delay) {
+        return runLater(task, delay);
+    }
+
+    @Override
+    public void executeAt(Location location, Runnable task) {
+        execute(task);
+    }
+
+    @Override
+    public void executeFor(Entity entity, Runnable task, Runnable retired) {
+        execute(task);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+}
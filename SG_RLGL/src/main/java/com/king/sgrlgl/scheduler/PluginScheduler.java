@@ -0,0 +1,98 @@
+package com.king.sgrlgl.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules the plugin's work on the thread that owns it. On Spigot and
+ * Paper everything runs on the main thread; on region threaded servers
+ * (Folia) global work runs on the global region, arena work on the region
+ * of a location and player actions on the player's own scheduler.
+ * 
+ * @author King
+ */
+public interface PluginScheduler {
+
+    /**
+     * Pick the scheduler matching the running server
+     * @param plugin Owning plugin
+     * @return Region scheduler on Folia, main thread scheduler otherwise
+     */
+    static PluginScheduler create(Plugin plugin) {
+        return RegionizedScheduler.isSupported() ? new RegionizedScheduler(plugin) : new MainThreadScheduler(plugin);
+    }
+
+    /**
+     * Check if different parts of the world tick on different threads
+     * @return True on Folia
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Run a repeating task on the main thread or global region
+     * @param task Task to run
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs
+     * @return Task handle
+     */
+    TaskHandle runTimer(Runnable task, long delay, long period);
+
+    /**
+     * Run a task once on the main thread or global region
+     * @param task Task to run
+     * @param delay Ticks before it runs
+     * @return Task handle
+     */
+    TaskHandle runLater(Runnable task, long delay);
+
+    /**
+     * Run a task now if the current thread is the main thread or global
+     * region, otherwise on its next tick
+     * @param task Task to run
+     */
+    void execute(Runnable task);
+
+    /**
+     * Run a repeating task on the thread that owns a location
+     * @param location Location whose region runs the task, null for the global region
+     * @param task Task to run
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs
+     * @return Task handle
+     */
+    TaskHandle runTimerAt(Location location, Runnable task, long delay, long period);
+
+    /**
+     * Run a task once on the thread that owns a location
+     * @param location Location whose region runs the task, null for the global region
+     * @param task Task to run
+     * @param delay Ticks before it runs
+     * @return Task handle
+     */
+    TaskHandle runLaterAt(Location location, Runnable task, long delay);
+
+    /**
+     * Run a task now if the current thread owns a location, otherwise on
+     * the next tick of its region
+     * @param location Location whose region runs the task, null for the global region
+     * @param task Task to run
+     */
+    void executeAt(Location location, Runnable task);
+
+    /**
+     * Run a task now if the current thread owns an entity, otherwise on
+     * the entity's next tick
+     * @param entity Entity the task acts on
+     * @param task Task to run
+     * @param retired Run instead if the entity is removed first, may be null
+     */
+    void executeFor(Entity entity, Runnable task, Runnable retired);
+
+    /**
+     * Check if the current thread owns a location
+     * @param location Location to check, null for the main thread or global region
+     * @return True if the location can be modified from this thread
+     */
+    boolean isOwnedByCurrentThread(Location location);
+}
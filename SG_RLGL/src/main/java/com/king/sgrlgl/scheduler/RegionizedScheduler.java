@@ -0,0 +1,218 @@
+package com.king.sgrlgl.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+/**
+ * {@link PluginScheduler} of Folia. The plugin compiles against Spigot, so
+ * the region scheduler API is looked up once with method handles, the same
+ * way {@link com.king.sgrlgl.managers.PaperSupport} finds Paper's methods.
+ * 
+ * @author King
+ */
+final class RegionizedScheduler implements PluginScheduler {
+
+    private static final String PACKAGE = "io.papermc.paper.threadedregions";
+
+    private final Plugin plugin;
+    private final Object globalScheduler;
+    private final Object regionScheduler;
+    private final MethodHandle globalRunAtFixedRate;
+    private final MethodHandle globalRunDelayed;
+    private final MethodHandle globalExecute;
+    private final MethodHandle regionRunAtFixedRate;
+    private final MethodHandle regionRunDelayed;
+    private final MethodHandle regionExecute;
+    private final MethodHandle entityGetScheduler;
+    private final MethodHandle entityExecute;
+    private final MethodHandle taskCancel;
+    private final MethodHandle isGlobalTickThread;
+    private final MethodHandle ownsLocation;
+    private final MethodHandle ownsEntity;
+
+    RegionizedScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> global = Class.forName(PACKAGE + ".scheduler.GlobalRegionScheduler");
+            Class<?> region = Class.forName(PACKAGE + ".scheduler.RegionScheduler");
+            Class<?> entity = Class.forName(PACKAGE + ".scheduler.EntityScheduler");
+            Class<?> task = Class.forName(PACKAGE + ".scheduler.ScheduledTask");
+            Class<?> cancelledState = Class.forName(PACKAGE + ".scheduler.ScheduledTask$CancelledState");
+
+            globalScheduler = lookup.findStatic(Bukkit.class, "getGlobalRegionScheduler",
+                    MethodType.methodType(global)).invoke();
+            regionScheduler = lookup.findStatic(Bukkit.class, "getRegionScheduler",
+                    MethodType.methodType(region)).invoke();
+
+            globalRunAtFixedRate = lookup.findVirtual(global, "runAtFixedRate",
+                    MethodType.methodType(task, Plugin.class, Consumer.class, long.class, long.class));
+            globalRunDelayed = lookup.findVirtual(global, "runDelayed",
+                    MethodType.methodType(task, Plugin.class, Consumer.class, long.class));
+            globalExecute = lookup.findVirtual(global, "execute",
+                    MethodType.methodType(void.class, Plugin.class, Runnable.class));
+            regionRunAtFixedRate = lookup.findVirtual(region, "runAtFixedRate",
+                    MethodType.methodType(task, Plugin.class, Location.class, Consumer.class, long.class, long.class));
+            regionRunDelayed = lookup.findVirtual(region, "runDelayed",
+                    MethodType.methodType(task, Plugin.class, Location.class, Consumer.class, long.class));
+            regionExecute = lookup.findVirtual(region, "execute",
+                    MethodType.methodType(void.class, Plugin.class, Location.class, Runnable.class));
+            entityGetScheduler = lookup.findVirtual(Entity.class, "getScheduler", MethodType.methodType(entity));
+            entityExecute = lookup.findVirtual(entity, "execute",
+                    MethodType.methodType(boolean.class, Plugin.class, Runnable.class, Runnable.class, long.class));
+            taskCancel = lookup.findVirtual(task, "cancel", MethodType.methodType(cancelledState));
+            isGlobalTickThread = lookup.findStatic(Bukkit.class, "isGlobalTickThread",
+                    MethodType.methodType(boolean.class));
+            ownsLocation = lookup.findStatic(Bukkit.class, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Location.class));
+            ownsEntity = lookup.findStatic(Bukkit.class, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Entity.class));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Region scheduler API not available", e);
+        }
+    }
+
+    /**
+     * Check if the server is region threaded
+     * @return True on Folia and its forks
+     */
+    static boolean isSupported() {
+        try {
+            Class.forName(PACKAGE + ".RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public TaskHandle runTimer(Runnable task, long delay, long period) {
+        try {
+            return handle(globalRunAtFixedRate.invoke(globalScheduler, plugin, consumer(task),
+                    Math.max(1L, delay), Math.max(1L, period)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public TaskHandle runLater(Runnable task, long delay) {
+        try {
+            return handle(globalRunDelayed.invoke(globalScheduler, plugin, consumer(task), Math.max(1L, delay)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            if ((boolean) isGlobalTickThread.invoke()) {
+                task.run();
+            } else {
+                globalExecute.invoke(globalScheduler, plugin, task);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public TaskHandle runTimerAt(Location location, Runnable task, long delay, long period) {
+        if (location == null) return runTimer(task, delay, period);
+        try {
+            return handle(regionRunAtFixedRate.invoke(regionScheduler, plugin, location, consumer(task),
+                    Math.max(1L, delay), Math.max(1L, period)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public TaskHandle runLaterAt(Location location, Runnable task, long delay) {
+        if (location == null) return runLater(task, delay);
+        try {
+            return handle(regionRunDelayed.invoke(regionScheduler, plugin, location, consumer(task),
+                    Math.max(1L, delay)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void executeAt(Location location, Runnable task) {
+        if (location == null) {
+            execute(task);
+            return;
+        }
+        try {
+            if ((boolean) ownsLocation.invoke(location)) {
+                task.run();
+            } else {
+                regionExecute.invoke(regionScheduler, plugin, location, task);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void executeFor(Entity entity, Runnable task, Runnable retired) {
+        try {
+            if ((boolean) ownsEntity.invoke(entity)) {
+                task.run();
+                return;
+            }
+            Object scheduler = entityGetScheduler.invoke(entity);
+            boolean queued = (boolean) entityExecute.invoke(scheduler, plugin, task, retired, 1L);
+            // Already removed, the retired callback is not called in that case
+            if (!queued && retired != null) {
+                retired.run();
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        try {
+            if (location == null) return (boolean) isGlobalTickThread.invoke();
+            return (boolean) ownsLocation.invoke(location);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static Consumer<Object> consumer(Runnable task) {
+        return ignored -> task.run();
+    }
+
+    private TaskHandle handle(Object task) {
+        return () -> {
+            try {
+                taskCancel.invoke(task);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) return (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,14 @@
+package com.king.sgrlgl.scheduler;
+
+/**
+ * Handle of a task scheduled through a {@link PluginScheduler}
+ * 
+ * @author King
+ */
+public interface TaskHandle {
+
+    /**
+     * Stop the task, does nothing if it already ran or was cancelled
+     */
+    void cancel();
+}
@@ -0,0 +1,105 @@
+package com.king.sgrlgl.storage;
+
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.Cuboid;
+import com.king.sgrlgl.game.MovementMode;
+import com.king.sgrlgl.game.MovementPolicy;
+import com.king.sgrlgl.game.TimerRange;
+import com.king.sgrlgl.managers.StoredLocation;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * YAML layout of an arena definition, shared by arenas.yml and the
+ * definition column of the SQLite backend
+ * 
+ * @author King
+ */
+final class ArenaYaml {
+
+    private ArenaYaml() {
+    }
+
+    /**
+     * Read a definition
+     * @param sec Section of the arena
+     * @param key Arena key, the name if none is stored
+     * @return Definition
+     */
+    static ArenaDefinition read(ConfigurationSection sec, String key) {
+        return new ArenaDefinition(
+                sec.getString("name", key),
+                sec.getString("world"),
+                StoredLocation.read(sec, "lobby"),
+                readCuboid(sec, "finish"),
+                readTimer(sec, "timers.red-light"),
+                readTimer(sec, "timers.green-light"),
+                readCuboid(sec, "bounds"),
+                readMovement(sec, "movement"));
+    }
+
+    /**
+     * Write a definition
+     * @param sec Section of the arena
+     * @param definition Definition to write
+     */
+    static void write(ConfigurationSection sec, ArenaDefinition definition) {
+        sec.set("name", definition.name());
+        sec.set("world", definition.world());
+        StoredLocation.write(sec, "lobby", definition.lobby());
+        writeCuboid(sec, "finish", definition.finish());
+        writeTimer(sec, "timers.red-light", definition.redLight());
+        writeTimer(sec, "timers.green-light", definition.greenLight());
+        writeCuboid(sec, "bounds", definition.bounds());
+        writeMovement(sec, "movement", definition.movement());
+    }
+
+    private static Cuboid readCuboid(ConfigurationSection config, String path) {
+        ConfigurationSection sec = config.getConfigurationSection(path);
+        if (sec == null || !sec.isSet("world")) return null;
+
+        return new Cuboid(sec.getString("world"),
+                sec.getDouble("min-x"), sec.getDouble("min-y"), sec.getDouble("min-z"),
+                sec.getDouble("max-x"), sec.getDouble("max-y"), sec.getDouble("max-z"));
+    }
+
+    private static void writeCuboid(ConfigurationSection config, String path, Cuboid cuboid) {
+        if (cuboid == null) return;
+
+        config.set(path + ".world", cuboid.world());
+        config.set(path + ".min-x", cuboid.minX());
+        config.set(path + ".min-y", cuboid.minY());
+        config.set(path + ".min-z", cuboid.minZ());
+        config.set(path + ".max-x", cuboid.maxX());
+        config.set(path + ".max-y", cuboid.maxY());
+        config.set(path + ".max-z", cuboid.maxZ());
+    }
+
+    private static TimerRange readTimer(ConfigurationSection config, String path) {
+        ConfigurationSection sec = config.getConfigurationSection(path);
+        if (sec == null) return null;
+        return new TimerRange(sec.getInt("min"), sec.getInt("max"));
+    }
+
+    private static void writeTimer(ConfigurationSection config, String path, TimerRange range) {
+        if (range == null) return;
+
+        config.set(path + ".min", range.min());
+        config.set(path + ".max", range.max());
+    }
+
+    private static MovementPolicy readMovement(ConfigurationSection config, String path) {
+        ConfigurationSection sec = config.getConfigurationSection(path);
+        if (sec == null) return null;
+
+        MovementMode mode = MovementMode.fromName(sec.getString("mode"));
+        if (mode == null) return null;
+        return new MovementPolicy(mode, sec.getDouble("epsilon"));
+    }
+
+    private static void writeMovement(ConfigurationSection config, String path, MovementPolicy policy) {
+        if (policy == null) return;
+
+        config.set(path + ".mode", policy.mode().name());
+        config.set(path + ".epsilon", policy.epsilon());
+    }
+}
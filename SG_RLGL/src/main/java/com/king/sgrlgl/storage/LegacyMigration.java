@@ -0,0 +1,85 @@
+package com.king.sgrlgl.storage;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.managers.DataSnapshot;
+import com.king.sgrlgl.managers.PersistenceManager;
+import com.king.sgrlgl.managers.StoredLocation;
+import com.king.sgrlgl.managers.UuidSet;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * One-shot move of the locations and roles older versions kept in
+ * config.yml into the storage. Once the data is saved the sections are
+ * removed from config.yml, which is left with operator settings only.
+ * 
+ * @author King
+ */
+final class LegacyMigration {
+
+    private LegacyMigration() {
+    }
+
+    /**
+     * Move the legacy sections of config.yml, if there are any
+     * @param plugin Plugin instance
+     * @param storage Open storage to move them into
+     */
+    static void run(Main plugin, Storage storage) {
+        FileConfiguration config = plugin.getConfig();
+        if (!config.contains("locations", true) && !config.contains("roles", true)) return;
+
+        int moved = 0;
+        try {
+            // Data already in the storage wins over the old copy
+            DataSnapshot current = storage.loadData();
+            StoredLocation lobby = current.lobby() != null ? current.lobby() : StoredLocation.read(config, "locations.lobby");
+            StoredLocation guestLobby = current.guestLobby() != null ? current.guestLobby() : StoredLocation.read(config, "locations.guestLobby");
+            StoredLocation finish = current.finish() != null ? current.finish() : StoredLocation.read(config, "locations.finish");
+            UuidSet admins = merge(current.admins(), config, "roles.admins");
+            UuidSet guests = merge(current.guests(), config, "roles.guests");
+            UuidSet winners = merge(current.winners(), config, "roles.winners");
+            moved = admins.size() + guests.size() + winners.size()
+                    - (current.admins().length + current.guests().length + current.winners().length) / 2;
+
+            storage.saveData(new DataSnapshot(lobby, guestLobby, finish,
+                    admins.toPairs(), guests.toPairs(), winners.toPairs()));
+        } catch (StorageException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not move the data in config.yml to " + storage.describe()
+                    + ", it is left in place", e);
+            return;
+        }
+
+        File file = new File(plugin.getDataFolder(), "config.yml");
+        try {
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+            yaml.set("locations", null);
+            yaml.set("roles", null);
+            PersistenceManager.writeAtomically(file.toPath(), yaml.saveToString());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not remove the moved data from config.yml", e);
+        }
+        config.set("locations", null);
+        config.set("roles", null);
+        plugin.getLogger().info("Moved the locations and " + moved + " role entries in config.yml to "
+                + storage.describe());
+    }
+
+    private static UuidSet merge(long[] current, FileConfiguration config, String path) {
+        UuidSet set = new UuidSet();
+        set.replaceWith(current);
+        for (String id : config.getStringList(path)) {
+            try {
+                set.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                // Skip malformed entries, as older versions did
+            }
+        }
+        return set;
+    }
+}
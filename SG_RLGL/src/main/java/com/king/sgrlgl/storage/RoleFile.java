@@ -0,0 +1,92 @@
+package com.king.sgrlgl.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Binary format of roles.dat: a header followed by the admin, guest and
+ * winner UUIDs as raw pairs of longs, each list prefixed by its length.
+ * 
+ * @author King
+ */
+public final class RoleFile {
+
+    public static final String NAME = "roles.dat";
+
+    private static final int MAGIC = 0x524C4752; // "RLGR"
+    private static final int VERSION = 1;
+
+    /**
+     * Role lists as packed pairs, see {@link com.king.sgrlgl.managers.UuidSet#toPairs()}
+     */
+    public record Contents(long[] admins, long[] guests, long[] winners) { }
+
+    private RoleFile() {
+    }
+
+    /**
+     * Encode role lists
+     * @param admins Admin UUID pairs
+     * @param guests Guest UUID pairs
+     * @param winners Winner UUID pairs
+     * @return File contents
+     */
+    public static byte[] encode(long[] admins, long[] guests, long[] winners) {
+        int length = 8 + 12 + (admins.length + guests.length + winners.length) * 8;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writePairs(out, admins);
+            writePairs(out, guests);
+            writePairs(out, winners);
+        } catch (IOException e) {
+            // Not thrown by an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writePairs(DataOutputStream out, long[] pairs) throws IOException {
+        out.writeInt(pairs.length / 2);
+        for (long value : pairs) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Read a roles file
+     * @param file File to read
+     * @return Role lists
+     * @throws IOException If the file could not be read or is not a roles file
+     */
+    public static Contents read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file.getFileName() + " is not a roles file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported roles file version " + version);
+            }
+            return new Contents(readPairs(in), readPairs(in), readPairs(in));
+        }
+    }
+
+    private static long[] readPairs(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > (1 << 24)) {
+            throw new IOException("Corrupt roles file, list of " + count + " entries");
+        }
+        long[] pairs = new long[count * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = in.readLong();
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,333 @@
+package com.king.sgrlgl.storage;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.MatchResult;
+import com.king.sgrlgl.managers.DataSnapshot;
+import com.king.sgrlgl.managers.StoredLocation;
+import com.king.sgrlgl.managers.UuidSet;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage in a single SQLite database, using the JDBC driver that Spigot
+ * and Paper ship with. Every save is one transaction of batched prepared
+ * statements, and roles are written as the difference to what the
+ * database already holds, so a new winner is one insert rather than a
+ * rewrite of every role. A new database imports the YAML files first.
+ * 
+ * @author King
+ */
+public class SqliteStorage implements Storage {
+
+    private static final int SCHEMA_VERSION = 1;
+    private static final String[] ROLES = { "admin", "guest", "winner" };
+    private static final String[] LOCATIONS = { "lobby", "guestLobby", "finish" };
+
+    private final Main plugin;
+    private final Path file;
+    private Connection connection;
+
+    // Role rows currently in the database, indexed like ROLES
+    private final UuidSet[] storedRoles = { new UuidSet(), new UuidSet(), new UuidSet() };
+
+    public SqliteStorage(Main plugin, Path file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void open() throws StorageException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new StorageException("The server does not provide the SQLite driver", e);
+        }
+
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS locations (name TEXT PRIMARY KEY, world TEXT NOT NULL, "
+                        + "x REAL NOT NULL, y REAL NOT NULL, z REAL NOT NULL, yaw REAL NOT NULL, pitch REAL NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS roles (role TEXT NOT NULL, msb INTEGER NOT NULL, "
+                        + "lsb INTEGER NOT NULL, PRIMARY KEY (role, msb, lsb)) WITHOUT ROWID");
+                statement.execute("CREATE TABLE IF NOT EXISTS arenas (key TEXT PRIMARY KEY, definition TEXT NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS matches (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "arena TEXT NOT NULL, seed INTEGER NOT NULL, started_at INTEGER NOT NULL, "
+                        + "ended_at INTEGER NOT NULL, phases INTEGER NOT NULL, players INTEGER NOT NULL, "
+                        + "eliminations INTEGER NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS match_winners (match_id INTEGER NOT NULL, "
+                        + "position INTEGER NOT NULL, msb INTEGER NOT NULL, lsb INTEGER NOT NULL, "
+                        + "PRIMARY KEY (match_id, position))");
+                statement.execute("CREATE INDEX IF NOT EXISTS matches_arena ON matches (arena, started_at)");
+            }
+            connection.setAutoCommit(false);
+            readRoles();
+
+            if (readSchemaVersion() == 0) {
+                importYaml();
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Could not open " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Copy the data of the YAML backend into a new database, so switching
+     * backends keeps roles, locations and arenas
+     */
+    private void importYaml() throws StorageException, SQLException {
+        YamlStorage yaml = new YamlStorage(file.getParent());
+        DataSnapshot data = yaml.loadData();
+        List<ArenaDefinition> arenas = yaml.loadArenas();
+        saveData(data);
+        saveArenas(arenas);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT OR REPLACE INTO meta (key, value) VALUES ('schema', ?)")) {
+            statement.setString(1, String.valueOf(SCHEMA_VERSION));
+            statement.executeUpdate();
+        }
+        connection.commit();
+        plugin.getLogger().info("Created " + file.getFileName() + " with " + arenas.size() + " arena(s) and "
+                + (data.admins().length + data.guests().length + data.winners().length) / 2
+                + " role entries from the YAML files");
+    }
+
+    private int readSchemaVersion() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT value FROM meta WHERE key = 'schema'")) {
+            return rows.next() ? Integer.parseInt(rows.getString(1)) : 0;
+        }
+    }
+
+    private void readRoles() throws SQLException {
+        for (UuidSet set : storedRoles) {
+            set.clear();
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT role, msb, lsb FROM roles")) {
+            while (rows.next()) {
+                int index = roleIndex(rows.getString(1));
+                if (index >= 0) {
+                    storedRoles[index].add(rows.getLong(2), rows.getLong(3));
+                }
+            }
+        }
+    }
+
+    private static int roleIndex(String role) {
+        for (int i = 0; i < ROLES.length; i++) {
+            if (ROLES[i].equals(role)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized DataSnapshot loadData() throws StorageException {
+        StoredLocation[] locations = new StoredLocation[LOCATIONS.length];
+        try {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT name, world, x, y, z, yaw, pitch FROM locations")) {
+                while (rows.next()) {
+                    for (int i = 0; i < LOCATIONS.length; i++) {
+                        if (LOCATIONS[i].equals(rows.getString(1))) {
+                            locations[i] = new StoredLocation(rows.getString(2), rows.getDouble(3), rows.getDouble(4),
+                                    rows.getDouble(5), rows.getFloat(6), rows.getFloat(7));
+                        }
+                    }
+                }
+            }
+            readRoles();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new StorageException("Could not read game data", e);
+        }
+
+        return new DataSnapshot(locations[0], locations[1], locations[2],
+                storedRoles[0].toPairs(), storedRoles[1].toPairs(), storedRoles[2].toPairs());
+    }
+
+    @Override
+    public synchronized void saveData(DataSnapshot data) throws StorageException {
+        StoredLocation[] locations = { data.lobby(), data.guestLobby(), data.finish() };
+        long[][] roles = { data.admins(), data.guests(), data.winners() };
+
+        try (PreparedStatement upsert = connection.prepareStatement(
+                     "INSERT OR REPLACE INTO locations (name, world, x, y, z, yaw, pitch) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement clear = connection.prepareStatement("DELETE FROM locations WHERE name = ?");
+             PreparedStatement insertRole = connection.prepareStatement(
+                     "INSERT OR IGNORE INTO roles (role, msb, lsb) VALUES (?, ?, ?)");
+             PreparedStatement deleteRole = connection.prepareStatement(
+                     "DELETE FROM roles WHERE role = ? AND msb = ? AND lsb = ?")) {
+            for (int i = 0; i < LOCATIONS.length; i++) {
+                StoredLocation location = locations[i];
+                if (location == null) {
+                    clear.setString(1, LOCATIONS[i]);
+                    clear.addBatch();
+                    continue;
+                }
+                upsert.setString(1, LOCATIONS[i]);
+                upsert.setString(2, location.world());
+                upsert.setDouble(3, location.x());
+                upsert.setDouble(4, location.y());
+                upsert.setDouble(5, location.z());
+                upsert.setFloat(6, location.yaw());
+                upsert.setFloat(7, location.pitch());
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+            clear.executeBatch();
+
+            // Only the rows that changed since the last save are written
+            UuidSet[] targets = new UuidSet[ROLES.length];
+            for (int r = 0; r < ROLES.length; r++) {
+                UuidSet target = new UuidSet();
+                target.replaceWith(roles[r]);
+                targets[r] = target;
+
+                long[] pairs = roles[r];
+                for (int i = 0; i + 1 < pairs.length; i += 2) {
+                    if (storedRoles[r].contains(pairs[i], pairs[i + 1])) continue;
+                    insertRole.setString(1, ROLES[r]);
+                    insertRole.setLong(2, pairs[i]);
+                    insertRole.setLong(3, pairs[i + 1]);
+                    insertRole.addBatch();
+                }
+                long[] stored = storedRoles[r].toPairs();
+                for (int i = 0; i + 1 < stored.length; i += 2) {
+                    if (target.contains(stored[i], stored[i + 1])) continue;
+                    deleteRole.setString(1, ROLES[r]);
+                    deleteRole.setLong(2, stored[i]);
+                    deleteRole.setLong(3, stored[i + 1]);
+                    deleteRole.addBatch();
+                }
+            }
+            insertRole.executeBatch();
+            deleteRole.executeBatch();
+            connection.commit();
+            System.arraycopy(targets, 0, storedRoles, 0, targets.length);
+        } catch (SQLException e) {
+            rollback();
+            throw new StorageException("Could not save game data", e);
+        }
+    }
+
+    @Override
+    public synchronized List<ArenaDefinition> loadArenas() throws StorageException {
+        List<ArenaDefinition> definitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT key, definition FROM arenas ORDER BY rowid")) {
+            while (rows.next()) {
+                YamlConfiguration yaml = new YamlConfiguration();
+                try {
+                    yaml.loadFromString(rows.getString(2));
+                } catch (InvalidConfigurationException e) {
+                    throw new StorageException("Arena " + rows.getString(1) + " has an invalid definition", e);
+                }
+                definitions.add(ArenaYaml.read(yaml, rows.getString(1)));
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new StorageException("Could not read the arena definitions", e);
+        }
+        return definitions;
+    }
+
+    @Override
+    public synchronized void saveArenas(List<ArenaDefinition> definitions) throws StorageException {
+        try (Statement clear = connection.createStatement();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO arenas (key, definition) VALUES (?, ?)")) {
+            clear.executeUpdate("DELETE FROM arenas");
+            for (ArenaDefinition definition : definitions) {
+                YamlConfiguration yaml = new YamlConfiguration();
+                ArenaYaml.write(yaml, definition);
+                insert.setString(1, definition.key());
+                insert.setString(2, yaml.saveToString());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new StorageException("Could not save the arena definitions", e);
+        }
+    }
+
+    @Override
+    public synchronized void recordMatch(MatchResult result) throws StorageException {
+        try (PreparedStatement match = connection.prepareStatement(
+                     "INSERT INTO matches (arena, seed, started_at, ended_at, phases, players, eliminations) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement winner = connection.prepareStatement(
+                     "INSERT INTO match_winners (match_id, position, msb, lsb) VALUES (?, ?, ?, ?)")) {
+            match.setString(1, result.arena());
+            match.setLong(2, result.seed());
+            match.setLong(3, result.startedAt());
+            match.setLong(4, result.endedAt());
+            match.setInt(5, result.phases());
+            match.setInt(6, result.players());
+            match.setInt(7, result.eliminations());
+            match.executeUpdate();
+
+            long id;
+            try (ResultSet keys = match.getGeneratedKeys()) {
+                if (!keys.next()) throw new SQLException("No id generated for the match");
+                id = keys.getLong(1);
+            }
+            int position = 1;
+            for (UUID player : result.winners()) {
+                winner.setLong(1, id);
+                winner.setInt(2, position++);
+                winner.setLong(3, player.getMostSignificantBits());
+                winner.setLong(4, player.getLeastSignificantBits());
+                winner.addBatch();
+            }
+            winner.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new StorageException("Could not record the match in " + result.arena(), e);
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            // The connection is broken, the original error is reported
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection == null) return;
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Nothing left to save
+        }
+        connection = null;
+    }
+
+    @Override
+    public String describe() {
+        return "SQLite (" + file.getFileName() + ")";
+    }
+}
@@ -0,0 +1,107 @@
+package com.king.sgrlgl.storage;
+
+import com.king.sgrlgl.Main;
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.MatchResult;
+import com.king.sgrlgl.managers.DataSnapshot;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Backend for the persistent game data: lobby and finish locations,
+ * roles, arena definitions and match results. Writes are issued by the
+ * background writer of the {@link com.king.sgrlgl.managers.PersistenceManager};
+ * implementations are synchronized, since startup and reloads read on the
+ * server thread.
+ * 
+ * @author King
+ */
+public interface Storage {
+
+    /**
+     * Open the storage configured in config.yml and move any data older
+     * versions kept in config.yml into it. Falls back to YAML files if the
+     * configured backend cannot be opened.
+     * @param plugin Plugin instance
+     * @param type Configured backend
+     * @param sqliteFile Database file name for {@link StorageType#SQLITE}
+     * @return Open storage
+     */
+    static Storage open(Main plugin, StorageType type, String sqliteFile) {
+        Storage storage = null;
+        if (type == StorageType.SQLITE) {
+            Storage sqlite = new SqliteStorage(plugin, plugin.getDataFolder().toPath().resolve(sqliteFile));
+            try {
+                sqlite.open();
+                storage = sqlite;
+            } catch (StorageException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not open " + sqliteFile + ", using YAML files instead", e);
+                sqlite.close();
+            }
+        }
+        if (storage == null) {
+            storage = new YamlStorage(plugin.getDataFolder().toPath());
+            try {
+                storage.open();
+            } catch (StorageException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not prepare the plugin folder", e);
+            }
+        }
+
+        LegacyMigration.run(plugin, storage);
+        return storage;
+    }
+
+    /**
+     * Create missing files or tables
+     * @throws StorageException If the backend cannot be used
+     */
+    void open() throws StorageException;
+
+    /**
+     * Read locations and roles
+     * @return Stored data, empty if nothing was saved yet
+     * @throws StorageException If the data could not be read
+     */
+    DataSnapshot loadData() throws StorageException;
+
+    /**
+     * Replace the stored locations and roles
+     * @param data Data to store
+     * @throws StorageException If the data could not be written
+     */
+    void saveData(DataSnapshot data) throws StorageException;
+
+    /**
+     * Read all arena definitions
+     * @return Definitions in storage order
+     * @throws StorageException If the definitions could not be read
+     */
+    List<ArenaDefinition> loadArenas() throws StorageException;
+
+    /**
+     * Replace the stored arena definitions
+     * @param definitions All definitions
+     * @throws StorageException If the definitions could not be written
+     */
+    void saveArenas(List<ArenaDefinition> definitions) throws StorageException;
+
+    /**
+     * Append the result of a finished match
+     * @param result Match result
+     * @throws StorageException If the result could not be written
+     */
+    void recordMatch(MatchResult result) throws StorageException;
+
+    /**
+     * Release files and connections
+     */
+    void close();
+
+    /**
+     * Get a short description for logs and /rlgl stats
+     * @return Backend name and location
+     */
+    String describe();
+}
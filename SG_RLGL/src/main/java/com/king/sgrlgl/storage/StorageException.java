@@ -0,0 +1,17 @@
+package com.king.sgrlgl.storage;
+
+/**
+ * Thrown when a storage backend cannot read or write data
+ * 
+ * @author King
+ */
+public class StorageException extends Exception {
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
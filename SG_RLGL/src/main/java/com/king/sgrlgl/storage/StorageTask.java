@@ -0,0 +1,12 @@
+package com.king.sgrlgl.storage;
+
+/**
+ * Operation run against the storage on the background writer
+ * 
+ * @author King
+ */
+@FunctionalInterface
+public interface StorageTask {
+
+    void run(Storage storage) throws StorageException;
+}
@@ -0,0 +1,27 @@
+package com.king.sgrlgl.storage;
+
+/**
+ * Backend the persistent game data is kept in
+ * 
+ * @author King
+ */
+public enum StorageType {
+    /** data.yml, roles.dat, arenas.yml and results.yml in the plugin folder */
+    YAML,
+    /** One SQLite database, using the driver bundled with the server */
+    SQLITE;
+
+    /**
+     * Parse a type name, ignoring case
+     * @param name Type name from the configuration
+     * @return Matching type or null if unknown
+     */
+    public static StorageType fromName(String name) {
+        if (name == null) return null;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.king.sgrlgl.storage;
+
+import com.king.sgrlgl.game.ArenaDefinition;
+import com.king.sgrlgl.game.MatchResult;
+import com.king.sgrlgl.managers.DataSnapshot;
+import com.king.sgrlgl.managers.PersistenceManager;
+import com.king.sgrlgl.managers.StoredLocation;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * File based storage in the plugin folder. Locations are kept in data.yml,
+ * roles in the binary roles.dat, arena definitions in arenas.yml, and each
+ * match result is appended to results.yml without rewriting the file.
+ * 
+ * @author King
+ */
+public class YamlStorage implements Storage {
+
+    private final Path dataFile;
+    private final Path rolesFile;
+    private final Path arenasFile;
+    private final Path resultsFile;
+
+    // Roles last written, roles.dat is only replaced when they change
+    private long[][] writtenRoles;
+
+    public YamlStorage(Path folder) {
+        this.dataFile = folder.resolve("data.yml");
+        this.rolesFile = folder.resolve(RoleFile.NAME);
+        this.arenasFile = folder.resolve("arenas.yml");
+        this.resultsFile = folder.resolve("results.yml");
+    }
+
+    @Override
+    public synchronized void open() throws StorageException {
+        try {
+            Files.createDirectories(dataFile.getParent());
+        } catch (IOException e) {
+            throw new StorageException("Could not create " + dataFile.getParent(), e);
+        }
+    }
+
+    @Override
+    public synchronized DataSnapshot loadData() throws StorageException {
+        YamlConfiguration yaml = load(dataFile);
+        RoleFile.Contents roles = new RoleFile.Contents(new long[0], new long[0], new long[0]);
+        if (Files.exists(rolesFile)) {
+            try {
+                roles = RoleFile.read(rolesFile);
+            } catch (IOException e) {
+                throw new StorageException("Could not read " + rolesFile.getFileName(), e);
+            }
+        }
+        writtenRoles = new long[][] { roles.admins(), roles.guests(), roles.winners() };
+
+        return new DataSnapshot(
+                StoredLocation.read(yaml, "locations.lobby"),
+                StoredLocation.read(yaml, "locations.guestLobby"),
+                StoredLocation.read(yaml, "locations.finish"),
+                roles.admins(), roles.guests(), roles.winners());
+    }
+
+    @Override
+    public synchronized void saveData(DataSnapshot data) throws StorageException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        StoredLocation.write(yaml, "locations.lobby", data.lobby());
+        StoredLocation.write(yaml, "locations.guestLobby", data.guestLobby());
+        StoredLocation.write(yaml, "locations.finish", data.finish());
+
+        long[][] roles = { data.admins(), data.guests(), data.winners() };
+        try {
+            if (writtenRoles == null || !Arrays.deepEquals(roles, writtenRoles)) {
+                PersistenceManager.writeAtomically(rolesFile, RoleFile.encode(data.admins(), data.guests(), data.winners()));
+                writtenRoles = roles;
+            }
+            PersistenceManager.writeAtomically(dataFile, yaml.saveToString());
+        } catch (IOException e) {
+            throw new StorageException("Could not save game data", e);
+        }
+    }
+
+    @Override
+    public synchronized List<ArenaDefinition> loadArenas() throws StorageException {
+        List<ArenaDefinition> definitions = new ArrayList<>();
+        ConfigurationSection root = load(arenasFile).getConfigurationSection("arenas");
+        if (root == null) return definitions;
+
+        for (String key : root.getKeys(false)) {
+            ConfigurationSection sec = root.getConfigurationSection(key);
+            if (sec != null) {
+                definitions.add(ArenaYaml.read(sec, key));
+            }
+        }
+        return definitions;
+    }
+
+    @Override
+    public synchronized void saveArenas(List<ArenaDefinition> definitions) throws StorageException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        for (ArenaDefinition definition : definitions) {
+            ArenaYaml.write(yaml.createSection("arenas." + definition.key()), definition);
+        }
+        try {
+            PersistenceManager.writeAtomically(arenasFile, yaml.saveToString());
+        } catch (IOException e) {
+            throw new StorageException("Could not save " + arenasFile.getFileName(), e);
+        }
+    }
+
+    @Override
+    public synchronized void recordMatch(MatchResult result) throws StorageException {
+        // Every match is its own top level key, so the file stays valid YAML when appended to
+        YamlConfiguration yaml = new YamlConfiguration();
+        String path = result.arena() + "-" + result.startedAt();
+        yaml.set(path + ".arena", result.arena());
+        yaml.set(path + ".seed", result.seed());
+        yaml.set(path + ".started-at", result.startedAt());
+        yaml.set(path + ".ended-at", result.endedAt());
+        yaml.set(path + ".phases", result.phases());
+        yaml.set(path + ".players", result.players());
+        yaml.set(path + ".eliminations", result.eliminations());
+        List<String> winners = new ArrayList<>(result.winners().size());
+        for (UUID winner : result.winners()) {
+            winners.add(winner.toString());
+        }
+        yaml.set(path + ".winners", winners);
+
+        try {
+            Files.write(resultsFile, yaml.saveToString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new StorageException("Could not append to " + resultsFile.getFileName(), e);
+        }
+    }
+
+    private static YamlConfiguration load(Path file) throws StorageException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        if (!Files.exists(file)) return yaml;
+
+        try {
+            yaml.load(file.toFile());
+            return yaml;
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new StorageException("Could not read " + file.getFileName(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Every write is complete when it returns
+    }
+
+    @Override
+    public String describe() {
+        return "YAML (" + dataFile.getParent().getFileName() + ")";
+    }
+}
@@ -0,0 +1,105 @@
+package com.king.sgrlgl.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the segment test and chunk coverage of {@link Cuboid}
+ *
+ * @author King
+ */
+class CuboidTest {
+
+    // A one block thick finish line across x 10-19 at z 5
+    private static final Cuboid LINE = new Cuboid("world", 10, 64, 5, 20, 66, 6);
+
+    @Test
+    void segmentInsideTheBoxIntersects() {
+        assertTrue(LINE.intersectsSegment(12, 64.5, 5.2, 12.4, 64.5, 5.8));
+    }
+
+    @Test
+    void fastDiagonalMoveOverAThinBoxIntersects() {
+        // Neither end is inside, the path crosses the line
+        assertFalse(LINE.contains(11, 64, 4.5));
+        assertFalse(LINE.contains(13, 64, 6.5));
+        assertTrue(LINE.intersectsSegment(11, 64, 4.5, 13, 64, 6.5));
+    }
+
+    @Test
+    void segmentPassingBesideTheBoxMisses() {
+        // Crosses z 5-6 but left of the line
+        assertFalse(LINE.intersectsSegment(8, 64, 4, 9.5, 64, 7));
+        // Crosses z 5-6 above the line
+        assertFalse(LINE.intersectsSegment(12, 67, 4, 12, 67, 7));
+        // Stops short of the line
+        assertFalse(LINE.intersectsSegment(12, 64, 3, 12, 64, 4.9));
+    }
+
+    @Test
+    void axisAlignedSegmentsUseTheFixedCoordinates() {
+        // Only x changes, y and z inside
+        assertTrue(LINE.intersectsSegment(5, 65, 5.5, 25, 65, 5.5));
+        // Only x changes, z outside
+        assertFalse(LINE.intersectsSegment(5, 65, 7, 25, 65, 7));
+        // Standing still inside and outside
+        assertTrue(LINE.intersectsSegment(15, 65, 5.5, 15, 65, 5.5));
+        assertFalse(LINE.intersectsSegment(15, 65, 8, 15, 65, 8));
+    }
+
+    @Test
+    void segmentReachingTheBoxFromEitherDirectionIntersects() {
+        assertTrue(LINE.intersectsSegment(15, 64, 2, 15, 64, 5.5));
+        assertTrue(LINE.intersectsSegment(15, 64, 5.5, 15, 64, 2));
+    }
+
+    @Test
+    void feetOnTopOfAFinishBlockAreNotInside() {
+        // The box of a single finish block, as built by Cuboid.ofBlocks(finish, finish)
+        Cuboid block = new Cuboid("world", 10, 64, 5, 11, 65, 6);
+        assertFalse(block.intersectsSegment(10.2, 65, 5.5, 10.8, 65, 5.5));
+        assertFalse(block.intersectsSegment(10.5, 65, 5.5, 10.5, 65, 5.5));
+        // Stepping down into the block
+        assertTrue(block.intersectsSegment(10.5, 65, 5.5, 10.5, 64.9, 5.5));
+    }
+
+    @Test
+    void maxFacesAreOutsideAndMinFacesInside() {
+        Cuboid block = new Cuboid("world", 10, 64, 5, 11, 65, 6);
+        // Ending exactly on a face from outside
+        assertFalse(block.intersectsSegment(12, 64.5, 5.5, 11, 64.5, 5.5));
+        assertTrue(block.intersectsSegment(9, 64.5, 5.5, 10, 64.5, 5.5));
+        assertFalse(block.intersectsSegment(10.5, 64.5, 7, 10.5, 64.5, 6));
+        assertTrue(block.intersectsSegment(10.5, 64.5, 4, 10.5, 64.5, 5));
+        // Sliding along a face
+        assertFalse(block.intersectsSegment(9, 64.5, 6, 12, 64.5, 6));
+        assertTrue(block.intersectsSegment(9, 64.5, 5, 12, 64.5, 5));
+        // Grazing a single corner
+        assertFalse(block.intersectsSegment(12, 64.5, 5, 10, 64.5, 7));
+        assertTrue(block.intersectsSegment(9, 64.5, 6, 11, 64.5, 4));
+    }
+
+    @Test
+    void chunkCoverageTreatsTheMaxAsExclusive() {
+        // Blocks 0-15 are exactly chunk 0
+        Cuboid chunk = new Cuboid("world", 0, 0, 0, 16, 1, 16);
+        assertEquals(0, chunk.minChunkX());
+        assertEquals(0, chunk.maxChunkX());
+        assertEquals(0, chunk.maxChunkZ());
+
+        // Blocks -1 to 16 reach into one chunk on each side
+        Cuboid wider = new Cuboid("world", -1, 0, -1, 17, 1, 17);
+        assertEquals(-1, wider.minChunkX());
+        assertEquals(1, wider.maxChunkX());
+        assertEquals(-1, wider.minChunkZ());
+        assertEquals(1, wider.maxChunkZ());
+
+        // An empty box still covers the chunk it sits in
+        Cuboid empty = new Cuboid("world", 32, 0, 32, 32, 0, 32);
+        assertEquals(2, empty.maxChunkX());
+        assertEquals(2, empty.maxChunkZ());
+    }
+}
@@ -0,0 +1,202 @@
+package com.king.sgrlgl.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes journals with {@link ArenaJournal} and reads them back with
+ * {@link JournalReader}
+ *
+ * @author King
+ */
+class ArenaJournalTest {
+
+    private static final String ARENA = "course";
+    private static final UUID ALICE = new UUID(1L, 2L);
+    private static final UUID BOB = new UUID(3L, 4L);
+    private static final Logger LOGGER = Logger.getLogger("ArenaJournalTest");
+
+    @TempDir
+    Path root;
+
+    @Test
+    void readsBackEveryKindOfRecord() throws IOException {
+        ArenaJournal journal = journal(64 * 1024, 4);
+        journal.matchStart(42L, 2);
+        journal.join(ALICE);
+        journal.join(BOB);
+        journal.phase(true, 60, 100L);
+        journal.elimination(BOB, 1, 64, 2, 90f, 0f, 1.5, 64, 2, 90f, 0f, 35, 120_000_000L);
+        journal.finish(ALICE, 12_500L, 1);
+        journal.leave(BOB);
+        journal.matchEnd(3, 1, 1);
+        journal.close();
+
+        List<String> lines = read();
+        assertEquals(8, lines.size());
+        assertTrue(lines.get(0).endsWith(" course MATCH_START seed=42 players=2"), lines.get(0));
+        assertTrue(lines.get(1).endsWith(" JOIN player=" + ALICE), lines.get(1));
+        assertTrue(lines.get(3).endsWith(" PHASE RED duration=60 ticks at-tick=100"), lines.get(3));
+        assertTrue(lines.get(4).contains(" ELIMINATION player=" + BOB
+                + " held=(1.000, 64.000, 2.000, yaw 90.0, pitch 0.0)"
+                + " moved-to=(1.500, 64.000, 2.000, yaw 90.0, pitch 0.0) ping=35ms since-red=120.0ms"), lines.get(4));
+        assertTrue(lines.get(5).endsWith(" FINISH player=" + ALICE + " after=12.5s position=1"), lines.get(5));
+        assertTrue(lines.get(6).endsWith(" LEAVE player=" + BOB), lines.get(6));
+        assertTrue(lines.get(7).endsWith(" MATCH_END phases=3 eliminations=1 winners=1"), lines.get(7));
+    }
+
+    @Test
+    void recordCutShortEndsTheSegment() throws IOException {
+        ArenaJournal journal = journal(64 * 1024, 4);
+        journal.join(ALICE);
+        journal.join(BOB);
+        journal.leave(ALICE);
+        journal.close();
+
+        // A crash between writing the second record and committing its kind.
+        // Pages may reach the disk out of order, so nothing after it is trusted
+        Path segment = segments().get(0);
+        int header = 4 + 2 + 8 + 2 + ARENA.getBytes(StandardCharsets.UTF_8).length;
+        int record = JournalFormat.RECORD_HEADER + JournalEventType.JOIN.payloadLength();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0}), header + record);
+        }
+
+        List<String> lines = read();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith(" JOIN player=" + ALICE), lines.get(0));
+    }
+
+    @Test
+    void rotatesFullSegmentsAndDropsTheOldest() throws IOException {
+        // Room for the segment header and a few joins
+        ArenaJournal journal = journal(128, 2);
+        for (int i = 0; i < 20; i++) {
+            journal.join(new UUID(0L, i + 1L));
+        }
+        journal.close();
+
+        List<Path> segments = segments();
+        assertEquals(2, segments.size());
+        List<String> lines = read();
+        // The newest records survive, in order
+        assertTrue(lines.size() >= 2 && lines.size() < 20, "read " + lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            UUID expected = new UUID(0L, 20L - lines.size() + i + 1);
+            assertTrue(lines.get(i).endsWith(" JOIN player=" + expected), lines.get(i));
+        }
+
+        // A new journal continues the sequence instead of overwriting
+        ArenaJournal reopened = journal(128, 2);
+        reopened.join(ALICE);
+        reopened.close();
+        List<String> after = read();
+        assertTrue(after.get(after.size() - 1).endsWith(" JOIN player=" + ALICE));
+    }
+
+    @Test
+    void disabledJournalWritesNothing() throws IOException {
+        ArenaJournal journal = new ArenaJournal(root.resolve(ARENA), ARENA,
+                () -> new JournalSettings(false, 64 * 1024, 4), LOGGER);
+        journal.join(ALICE);
+        journal.close();
+        assertTrue(Files.notExists(root.resolve(ARENA)));
+    }
+
+    @Test
+    void closedJournalDropsLateRecords() throws IOException {
+        ArenaJournal journal = journal(64 * 1024, 4);
+        journal.join(ALICE);
+        journal.close();
+        // A tick still in flight when the arena is deleted
+        journal.leave(ALICE);
+
+        assertEquals(1, segments().size());
+        assertEquals(1, read().size());
+    }
+
+    @Test
+    void filtersByPlayerAndKind() throws IOException {
+        ArenaJournal journal = journal(64 * 1024, 4);
+        journal.join(ALICE);
+        journal.join(BOB);
+        journal.leave(BOB);
+        journal.matchEnd(1, 0, 0);
+        journal.close();
+
+        List<String> bob = read("--player", BOB.toString());
+        assertEquals(2, bob.size());
+        List<String> leaves = read("--type", "leave,match_end");
+        assertEquals(2, leaves.size());
+        assertTrue(leaves.get(0).endsWith(" LEAVE player=" + BOB), leaves.get(0));
+        assertEquals(0, read("--arena", "other").size());
+        assertEquals(4, read("--arena", "COURSE").size());
+    }
+
+    @Test
+    void optionsWithoutValueAreRejected() {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalReader.fromOptions(new String[] {"journal", "--arena"}, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalReader.fromOptions(new String[] {"journal", "--from", "0", "--to"}, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalReader.fromOptions(new String[] {"journal", "--colour", "red"}, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalReader.fromOptions(new String[] {"journal", "--type", "JUMP"}, out));
+    }
+
+    @Test
+    void parsesEveryTimeFormat() {
+        assertEquals(1_700_000_000_000L, JournalReader.parseTime("1700000000000"));
+        assertEquals(1_700_000_000_000L, JournalReader.parseTime("2023-11-14T22:13:20Z"));
+    }
+
+    private ArenaJournal journal(int segmentBytes, int maxSegments) {
+        return new ArenaJournal(root.resolve(ARENA), ARENA,
+                () -> new JournalSettings(true, segmentBytes, maxSegments), LOGGER);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root.resolve(ARENA), "*" + JournalFormat.EXTENSION)) {
+            for (Path file : files) {
+                segments.add(file);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private List<String> read(String... options) throws IOException {
+        String[] args = new String[options.length + 1];
+        args[0] = root.toString();
+        System.arraycopy(options, 0, args, 1, options.length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JournalReader reader = JournalReader.fromOptions(args, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        reader.dump(root);
+        String text = bytes.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\\R"));
+    }
+}
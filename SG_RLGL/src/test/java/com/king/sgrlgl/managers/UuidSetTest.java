@@ -0,0 +1,156 @@
+package com.king.sgrlgl.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the open addressing table of {@link UuidSet} against a
+ * {@link HashSet}
+ *
+ * @author King
+ */
+class UuidSetTest {
+
+    // Capacity of a new set, before the first resize
+    private static final int MIN_MASK = 15;
+
+    @Test
+    void randomOperationsMatchHashSet() {
+        SplittableRandom random = new SplittableRandom(42L);
+        // A small pool so ids are added and removed over and over
+        UUID[] pool = new UUID[2_000];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        pool[0] = new UUID(0L, 0L);
+
+        UuidSet set = new UuidSet();
+        Set<UUID> expected = new HashSet<>();
+        for (int op = 0; op < 200_000; op++) {
+            UUID id = pool[random.nextInt(pool.length)];
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(id), set.add(id), "add " + id);
+                case 1 -> assertEquals(expected.remove(id), set.remove(id), "remove " + id);
+                default -> assertEquals(expected.contains(id), set.contains(id), "contains " + id);
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (UUID id : pool) {
+            assertEquals(expected.contains(id), set.contains(id), "contains " + id);
+        }
+    }
+
+    @Test
+    void keepsEntriesAcrossResizes() {
+        SplittableRandom random = new SplittableRandom(7L);
+        UuidSet set = new UuidSet();
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            assertTrue(set.add(id));
+            added.add(id);
+        }
+        assertEquals(added.size(), set.size());
+        for (UUID id : added) {
+            assertTrue(set.contains(id), "lost " + id);
+        }
+
+        // Remove every other id, the rest must still be found past the gaps
+        for (int i = 0; i < added.size(); i += 2) {
+            assertTrue(set.remove(added.get(i)));
+        }
+        for (int i = 0; i < added.size(); i++) {
+            assertEquals(i % 2 == 1, set.contains(added.get(i)), "index " + i);
+        }
+    }
+
+    @Test
+    void removeShiftsProbeRunsAcrossTheEndOfTheTable() {
+        // Ids whose home is the last slot wrap around to the first slots
+        List<UUID> last = idsWithHome(MIN_MASK, 4, 1L);
+        List<UUID> first = idsWithHome(0, 2, 2L);
+        UuidSet set = new UuidSet();
+        Set<UUID> expected = new HashSet<>();
+        for (UUID id : last) {
+            set.add(id);
+            expected.add(id);
+        }
+        for (UUID id : first) {
+            set.add(id);
+            expected.add(id);
+        }
+
+        // Removing from the start of the run has to pull the wrapped ids back
+        for (UUID id : List.of(last.get(0), first.get(0), last.get(2))) {
+            assertTrue(set.remove(id));
+            expected.remove(id);
+            for (UUID other : last) {
+                assertEquals(expected.contains(other), set.contains(other), "after removing " + id);
+            }
+            for (UUID other : first) {
+                assertEquals(expected.contains(other), set.contains(other), "after removing " + id);
+            }
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    void tracksTheNilUuidOutsideTheTable() {
+        UuidSet set = new UuidSet();
+        UUID nil = new UUID(0L, 0L);
+        assertFalse(set.contains(nil));
+        assertTrue(set.add(nil));
+        assertFalse(set.add(nil));
+        assertEquals(1, set.size());
+        assertEquals(2, set.toPairs().length);
+        assertTrue(set.remove(nil));
+        assertFalse(set.contains(nil));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void pairsRoundTrip() {
+        SplittableRandom random = new SplittableRandom(3L);
+        UuidSet set = new UuidSet();
+        for (int i = 0; i < 1_000; i++) {
+            set.add(random.nextLong(), random.nextLong());
+        }
+        set.add(0L, 0L);
+
+        UuidSet copy = new UuidSet();
+        copy.replaceWith(set.toPairs());
+        assertEquals(set.size(), copy.size());
+        long[] pairs = set.toPairs();
+        for (int i = 0; i < pairs.length; i += 2) {
+            assertTrue(copy.contains(pairs[i], pairs[i + 1]));
+        }
+        assertArrayEquals(new long[0], new UuidSet().toPairs());
+    }
+
+    /**
+     * Find random ids hashing to one slot of a table with the minimum capacity
+     */
+    private static List<UUID> idsWithHome(int slot, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UUID> ids = new ArrayList<>();
+        while (ids.size() < count) {
+            long msb = random.nextLong();
+            long lsb = random.nextLong();
+            if (UuidSet.slot(msb, lsb, MIN_MASK) == slot) {
+                ids.add(new UUID(msb, lsb));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,63 @@
+package com.king.sgrlgl.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bucket layout of {@link LatencyHistogram}
+ *
+ * @author King
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesHaveTheirOwnBucket() {
+        for (int value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.highestValueIn(value));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndCoverEveryLong() {
+        // Each bucket starts right after the previous one ends
+        for (int bucket = 1; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long lowest = LatencyHistogram.highestValueIn(bucket - 1) + 1;
+            assertEquals(bucket, LatencyHistogram.bucketOf(lowest), "lowest value of bucket " + bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.highestValueIn(bucket)),
+                    "highest value of bucket " + bucket);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    void highestValueStaysWithinPrecision() {
+        SplittableRandom random = new SplittableRandom(11L);
+        for (int i = 0; i < 100_000; i++) {
+            // Spread the samples over every power of two
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(highest >= value, "bucket of " + value + " ends at " + highest);
+            assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS,
+                    "bucket of " + value + " ends at " + highest);
+        }
+    }
+
+    @Test
+    void quantilesReportTheBucketCeilingCappedAtTheMax() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "Test", "");
+        for (long value = 1; value <= 1_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+        long median = histogram.valueAtQuantile(0.5);
+        assertTrue(median >= 500_000L && median <= 500_000L + 500_000L / LatencyHistogram.SUB_BUCKETS,
+                "median " + median);
+        assertEquals(1_000_000L, histogram.valueAtQuantile(1.0));
+        assertEquals(0L, new LatencyHistogram("empty", "Empty", "").valueAtQuantile(0.5));
+    }
+}